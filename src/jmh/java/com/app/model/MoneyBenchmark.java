@@ -0,0 +1,74 @@
+package com.app.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart-total arithmetic on {@code long} cents ({@link Money}) versus a {@link BigDecimal} baseline.
+ * <p>
+ * Both variants sum {@code lines} cart lines of unit price times quantity. Run with the GC profiler
+ * ({@code -prof gc}) to compare allocation per operation as well as throughput.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"10", "100"})
+    private int lines;
+
+    private long[] unitPriceCents;
+    private long[] quantities;
+    private BigDecimal[] unitPrices;
+    private BigDecimal[] quantityDecimals;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        unitPriceCents = new long[lines];
+        quantities = new long[lines];
+        unitPrices = new BigDecimal[lines];
+        quantityDecimals = new BigDecimal[lines];
+        for (int i = 0; i < lines; i++) {
+            unitPriceCents[i] = random.nextLong(1, 100_000);
+            quantities[i] = random.nextLong(1, 10);
+            unitPrices[i] = BigDecimal.valueOf(unitPriceCents[i], Money.SCALE);
+            quantityDecimals[i] = BigDecimal.valueOf(quantities[i]);
+        }
+    }
+
+    @Benchmark
+    public long minorUnits() {
+        long total = 0;
+        for (int i = 0; i < lines; i++) {
+            total = Money.add(total, Money.multiply(unitPriceCents[i], quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(unitPrices[i].multiply(quantityDecimals[i]));
+        }
+        return total;
+    }
+}
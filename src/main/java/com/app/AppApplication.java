@@ -2,6 +2,7 @@ package com.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main entry point for the TalonOneApp Spring Boot application.
@@ -9,8 +10,22 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * This application integrates with Talon.One’s Integration API to manage
  * personalized rewards and discounts for an e-commerce platform.
  * </p>
+ * <p>
+ * Startup-optimized packaging (see {@code application-startup.properties}):
+ * <pre>
+ *   # 1. Build with Spring AOT processing (spring-boot:process-aot) and extract the jar
+ *   java -Djarmode=tools -jar app.jar extract --destination app
+ *   # 2. Training run: refresh the context, then exit and dump the AppCDS archive
+ *   java -XX:ArchiveClassesAtExit=app/app.jsa -Dspring.context.exit=onRefresh \
+ *        -Dspring.aot.enabled=true -Dspring.profiles.active=startup -jar app/app.jar
+ *   # 3. Production: start from the AOT-generated context with the CDS archive
+ *   java -XX:SharedArchiveFile=app/app.jsa -Dspring.aot.enabled=true \
+ *        -Dspring.profiles.active=startup -jar app/app.jar
+ * </pre>
+ * </p>
  */
 @SpringBootApplication
+@EnableScheduling
 public class AppApplication {
     public static void main(String[] args) {
         SpringApplication.run(AppApplication.class, args);
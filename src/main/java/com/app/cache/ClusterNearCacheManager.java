@@ -0,0 +1,214 @@
+package com.app.cache;
+
+import com.app.model.CartRequest;
+import com.app.model.RewardsResponse;
+import com.app.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns the node-local {@link NearCache}s and keeps them coherent across application
+ * instances without an external cache server.
+ * <p>
+ * Each node listens on a UDP port ({@code app.cache.cluster.port}) and knows its peers
+ * ({@code app.cache.cluster.peers}, a comma-separated {@code host:port} list that may
+ * include the node itself). Invalidating a user drops that user's entries locally and
+ * sends a small datagram to every peer, which drops them too. Within a transaction the
+ * invalidation is deferred until after commit so no node can re-cache the old row.
+ * </p>
+ * <p>
+ * UDP delivery is best-effort; a lost message is bounded by the cache TTL. To try it
+ * locally, start several instances with distinct {@code server.port} and
+ * {@code app.cache.cluster.port} and the same peer list, e.g.
+ * {@code app.cache.cluster.peers=127.0.0.1:7701,127.0.0.1:7702,127.0.0.1:7703}.
+ * </p>
+ * <p>
+ * Without cluster invalidation a write on one node would leave other nodes serving the old
+ * row for a full TTL, so both caches are disabled unless cluster mode is on with peers
+ * configured, or {@code app.cache.single-node=true} declares that only one instance runs.
+ * </p>
+ */
+@Component
+public class ClusterNearCacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterNearCacheManager.class);
+
+    private static final int MAX_MESSAGE_BYTES = 512;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final NearCache<Long, User> users;
+    private final NearCache<CartRequest, RewardsResponse> rewardPreviews;
+
+    private final boolean clusterEnabled;
+    private final int clusterPort;
+    private final List<InetSocketAddress> peers = new ArrayList<>();
+
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong messagesReceived = new AtomicLong();
+    private final AtomicLong sendFailures = new AtomicLong();
+
+    private DatagramSocket socket;
+    private Thread receiver;
+
+    public ClusterNearCacheManager(@Value("${app.cache.users.max-entries:10000}") int userMaxEntries,
+                                   @Value("${app.cache.users.ttl-ms:60000}") long userTtlMs,
+                                   @Value("${app.cache.reward-previews.max-entries:20000}") int previewMaxEntries,
+                                   @Value("${app.cache.reward-previews.ttl-ms:30000}") long previewTtlMs,
+                                   @Value("${app.cache.cluster.enabled:false}") boolean clusterEnabled,
+                                   @Value("${app.cache.cluster.port:7701}") int clusterPort,
+                                   @Value("${app.cache.cluster.peers:}") String peerList,
+                                   @Value("${app.cache.single-node:false}") boolean singleNode) {
+        this.clusterEnabled = clusterEnabled;
+        this.clusterPort = clusterPort;
+        for (String peer : peerList.split(",")) {
+            String trimmed = peer.trim();
+            if (!trimmed.isEmpty()) {
+                int colon = trimmed.lastIndexOf(':');
+                peers.add(new InetSocketAddress(trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1))));
+            }
+        }
+        boolean coherent = singleNode || (clusterEnabled && !peers.isEmpty());
+        if (!coherent) {
+            logger.info("Near caches disabled: cluster invalidation is off or has no peers, and app.cache.single-node is not set");
+        }
+        this.users = new NearCache<>("users", userMaxEntries, coherent ? userTtlMs : 0);
+        this.rewardPreviews = new NearCache<>("rewardPreviews", previewMaxEntries, coherent ? previewTtlMs : 0);
+    }
+
+    @PostConstruct
+    void start() throws SocketException {
+        if (!clusterEnabled) {
+            return;
+        }
+        socket = new DatagramSocket(clusterPort);
+        receiver = new Thread(this::receiveLoop, "near-cache-invalidation");
+        receiver.setDaemon(true);
+        receiver.start();
+        logger.info("Near cache node {} listening on UDP {} with {} peers", nodeId, clusterPort, peers.size());
+    }
+
+    public NearCache<Long, User> users() {
+        return users;
+    }
+
+    public NearCache<CartRequest, RewardsResponse> rewardPreviews() {
+        return rewardPreviews;
+    }
+
+    /**
+     * Invalidates everything cached for a user on this node and on all peers, after the
+     * current transaction commits if one is active.
+     * @param userId the user whose entries changed
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        String group = userId.toString();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateGroup(group);
+                }
+            });
+        } else {
+            invalidateGroup(group);
+        }
+    }
+
+    /**
+     * @return hit-rate metrics per cache
+     */
+    public List<NearCache.Stats> stats() {
+        return List.of(users.stats(), rewardPreviews.stats());
+    }
+
+    /**
+     * @return counters for the cluster invalidation channel
+     */
+    public ClusterStats clusterStats() {
+        return new ClusterStats(nodeId, clusterEnabled, peers.size(), messagesSent.get(), messagesReceived.get(),
+                sendFailures.get());
+    }
+
+    private void invalidateGroup(String group) {
+        invalidateLocally(group);
+        broadcast(group);
+    }
+
+    private void invalidateLocally(String group) {
+        users.invalidateGroup(group);
+        rewardPreviews.invalidateGroup(group);
+    }
+
+    private void broadcast(String group) {
+        if (socket == null) {
+            return;
+        }
+        byte[] payload = (nodeId + "|" + group).getBytes(StandardCharsets.UTF_8);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+                messagesSent.incrementAndGet();
+            } catch (IOException ex) {
+                sendFailures.incrementAndGet();
+                logger.debug("Failed to send cache invalidation to {}: {}", peer, ex.getMessage());
+            }
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_MESSAGE_BYTES];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException ex) {
+                if (!socket.isClosed()) {
+                    logger.warn("Near cache receive failed: {}", ex.getMessage());
+                }
+                continue;
+            }
+            String message = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+            int separator = message.indexOf('|');
+            if (separator < 0 || message.startsWith(nodeId)) {
+                continue;
+            }
+            messagesReceived.incrementAndGet();
+            invalidateLocally(message.substring(separator + 1));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    /**
+     * Snapshot of the invalidation channel counters.
+     */
+    public record ClusterStats(String nodeId, boolean enabled, int peers, long messagesSent, long messagesReceived,
+                               long sendFailures) {
+    }
+}
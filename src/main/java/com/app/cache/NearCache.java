@@ -0,0 +1,277 @@
+package com.app.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, per-node LRU cache with a time-to-live, used as the local tier of the
+ * cluster near cache.
+ * <p>
+ * Every entry belongs to a <em>group</em> (for both built-in caches, the user ID), and
+ * invalidation always happens per group. That lets one message such as "user 42 changed"
+ * drop the cached user together with all of that user's reward previews.
+ * The TTL bounds staleness if an invalidation message from a peer is lost.
+ * </p>
+ * <p>
+ * Entries are spread over up to {@value #MAX_SEGMENTS} independently locked LRU segments by
+ * key hash, so concurrent lookups of different keys rarely contend; the size bound is split
+ * evenly across segments and enforced per segment. Each group also has a generation that every invalidation increments. A loader
+ * reads {@link #generation(String)} before fetching the value from the source and stores it
+ * with {@link #putIfGeneration}, which drops the value if the group was invalidated in the
+ * meantime, so a read racing with an invalidation cannot re-cache stale data.
+ * </p>
+ * <p>
+ * A cache built with a non-positive TTL or size is disabled: it never stores anything and every lookup misses.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class NearCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final boolean enabled;
+
+    private final Segment[] segments;
+    // Striped by group hash: groups sharing a stripe only cause an occasional skipped put
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public NearCache(String name, int maxEntries, long ttlMs) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.enabled = ttlMs > 0 && maxEntries > 0;
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxEntries)));
+        this.segments = (Segment[]) new NearCache.Segment[segmentCount];
+        int segmentMaxEntries = Math.max(1, maxEntries / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentMaxEntries);
+        }
+    }
+
+    /**
+     * Looks up a live entry.
+     * @param key the key
+     * @return the cached value, or null on a miss or expired entry
+     */
+    public V get(K key) {
+        V value = segmentFor(key).get(key);
+        if (value != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the current generation of a group, to be passed to {@link #putIfGeneration}
+     * after loading a value for that group.
+     * @param group the invalidation group
+     * @return the group's generation
+     */
+    public long generation(String group) {
+        return generations.get(stripe(group));
+    }
+
+    /**
+     * Stores a value, evicting the least recently used entry of its segment when that segment is full.
+     * @param key the key
+     * @param group the invalidation group the entry belongs to
+     * @param value the value; null values are not cached
+     */
+    public void put(K key, String group, V value) {
+        if (enabled && value != null) {
+            segmentFor(key).put(key, group, value, -1);
+        }
+    }
+
+    /**
+     * Stores a value only if its group has not been invalidated since {@code generation} was read.
+     * @param key the key
+     * @param group the invalidation group the entry belongs to
+     * @param value the value; null values are not cached
+     * @param generation the group generation read before the value was loaded
+     * @return true if the value was stored
+     */
+    public boolean putIfGeneration(K key, String group, V value, long generation) {
+        return enabled && value != null && segmentFor(key).put(key, group, value, generation);
+    }
+
+    /**
+     * Drops every entry of a group on this node only.
+     * @param group the group to invalidate
+     */
+    public void invalidateGroup(String group) {
+        // Bump first: a loader checking its generation after this point will not store
+        generations.incrementAndGet(stripe(group));
+        boolean removed = false;
+        for (Segment segment : segments) {
+            removed |= segment.invalidateGroup(group);
+        }
+        if (removed) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops all entries on this node.
+     */
+    public void clear() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return false if this cache was built with a non-positive TTL or size and never stores entries
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return a point-in-time view of this cache's size and hit/miss counters
+     */
+    public Stats stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        long lookups = hitCount + missCount;
+        return new Stats(name, size, maxEntries, hitCount, missCount,
+                lookups == 0 ? 0.0 : (double) hitCount / lookups, evictions.get(), invalidations.get());
+    }
+
+    private Segment segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    private int stripe(String group) {
+        int h = group.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * One independently locked LRU partition of the cache.
+     */
+    private final class Segment {
+
+        private final int maxEntries;
+        private final LinkedHashMap<K, Entry<V>> entries;
+        private final Map<String, Set<K>> keysByGroup = new HashMap<>();
+
+        private Segment(int maxEntries) {
+            this.maxEntries = maxEntries;
+            this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true);
+        }
+
+        private synchronized V get(K key) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAtNanos < 0) {
+                return entry.value;
+            }
+            remove(key, entry);
+            return null;
+        }
+
+        /**
+         * @param generation the expected group generation, or -1 to store unconditionally
+         */
+        private synchronized boolean put(K key, String group, V value, long generation) {
+            // Checked under the segment lock: invalidateGroup bumps the generation before taking it
+            if (generation >= 0 && generations.get(stripe(group)) != generation) {
+                return false;
+            }
+            Entry<V> previous = entries.put(key, new Entry<>(group, value, System.nanoTime() + ttlNanos));
+            if (previous != null && !previous.group.equals(group)) {
+                unindex(key, previous.group);
+            }
+            keysByGroup.computeIfAbsent(group, g -> new HashSet<>(4)).add(key);
+
+            if (entries.size() > maxEntries) {
+                Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+                Map.Entry<K, Entry<V>> victim = eldest.next();
+                eldest.remove();
+                unindex(victim.getKey(), victim.getValue().group);
+                evictions.incrementAndGet();
+            }
+            return true;
+        }
+
+        private synchronized boolean invalidateGroup(String group) {
+            Set<K> keys = keysByGroup.remove(group);
+            if (keys == null) {
+                return false;
+            }
+            for (K key : keys) {
+                entries.remove(key);
+            }
+            return true;
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+            keysByGroup.clear();
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private void remove(K key, Entry<V> entry) {
+            entries.remove(key);
+            unindex(key, entry.group);
+        }
+
+        private void unindex(K key, String group) {
+            Set<K> keys = keysByGroup.get(group);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByGroup.remove(group);
+                }
+            }
+        }
+    }
+
+    private record Entry<V>(String group, V value, long expiresAtNanos) {
+    }
+
+    /**
+     * Snapshot of a cache's size and hit-rate metrics.
+     */
+    public record Stats(String name, int size, int maxEntries, long hits, long misses, double hitRate,
+                        long evictions, long invalidations) {
+    }
+}
@@ -1,5 +1,18 @@
 package com.app.config;
 
+import com.app.talonone.TalonOneProperties;
+import com.app.talonone.TalonOneShard;
+import com.app.talonone.TalonOneShardRouter;
+import com.app.tracing.Span;
+import com.app.tracing.Tracer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,24 +20,35 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
- * Configuration class for RestTemplate used to communicate with Talon.One's Integration API.
+ * Configuration class for the RestTemplates used to communicate with Talon.One's Integration API.
  * <p>
- * Provides a singleton, thread-safe RestTemplate bean configured with an interceptor
- * that attaches the Talon.One API key for authentication and logs essential request details.
+ * Provides a {@link TalonOneShardRouter} holding one thread-safe RestTemplate per configured
+ * Talon.One application (shard). Each RestTemplate has its own Apache HttpClient connection
+ * pool of {@code talonone.max-connections} keep-alive connections, bounded by
+ * {@code talonone.connect-timeout-ms} and {@code talonone.read-timeout-ms}, so a slow shard
+ * can exhaust only its own pool. An interceptor attaches that shard's API key for
+ * authentication, records a tracing span per call and, only when
+ * {@code talonone.log-requests=true}, logs essential request details.
  * </p>
  *
  * <pre>
  * Usage:
- *   - Inject RestTemplate where needed (e.g., TalonOneClient).
- *   - API key is securely injected from application properties.
+ *   - Inject TalonOneShardRouter where needed (e.g., TalonOneClient).
+ *   - API keys are securely injected from application properties.
  * </pre>
  */
 @Configuration
@@ -33,47 +57,166 @@ public class RestTemplateConfig {
     private static final Logger logger = LoggerFactory.getLogger(RestTemplateConfig.class);
 
     /**
-     * Talon.One API key, injected from application properties.
+     * Enables per-call INFO logging of Talon.One requests. Off by default; tracing covers
+     * the hot path at a fraction of the cost.
      */
-    @Value("${talonone.api-key}")
-    private String talonOneApiKey;
+    @Value("${talonone.log-requests:false}")
+    private boolean logRequests;
+
+    private final Tracer tracer;
+
+    public RestTemplateConfig(Tracer tracer) {
+        this.tracer = tracer;
+    }
 
     /**
-     * Defines a singleton RestTemplate bean configured for Talon.One Integration API.
+     * Defines the singleton shard router for the Talon.One Integration API, falling back to a
+     * single shard built from talonone.base-url/api-key when no shards are configured.
+     * The router's connection pools are closed with the context.
      *
-     * @return configured RestTemplate instance
+     * @param properties bound talonone.* properties
+     * @return configured TalonOneShardRouter instance
+     * @throws IllegalArgumentException if a shard has a blank or duplicate name, or a blank base-url or api-key
      */
     @Bean
-    public RestTemplate talonOneRestTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setInterceptors(Collections.singletonList(talonOneInterceptor()));
+    public TalonOneShardRouter talonOneShardRouter(TalonOneProperties properties) {
+        List<TalonOneProperties.Shard> configured = properties.getShards();
+        if (configured.isEmpty()) {
+            TalonOneProperties.Shard single = new TalonOneProperties.Shard();
+            single.setName("default");
+            single.setBaseUrl(properties.getBaseUrl());
+            single.setApiKey(properties.getApiKey());
+            configured = List.of(single);
+        }
+        validateShards(configured);
+
+        List<TalonOneShard> shards = new ArrayList<>(configured.size());
+        for (TalonOneProperties.Shard shard : configured) {
+            CloseableHttpClient httpClient = talonOneHttpClient(properties);
+            shards.add(new TalonOneShard(shard.getName(), shard.getBaseUrl(), shard.getApiKey(),
+                    talonOneRestTemplate(httpClient, shard.getName(), shard.getApiKey()), httpClient,
+                    properties.getFailureThreshold(), properties.getUnhealthyCooldownMs()));
+        }
+        return new TalonOneShardRouter(shards, properties.getVirtualNodes());
+    }
+
+    /**
+     * Rejects shard settings that would otherwise only fail on the first request routed to the shard,
+     * or silently merge two shards on the hash ring. Runs before any connection pool is created.
+     *
+     * @param shards the configured shards
+     */
+    private static void validateShards(List<TalonOneProperties.Shard> shards) {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < shards.size(); i++) {
+            TalonOneProperties.Shard shard = shards.get(i);
+            String name = shard.getName();
+            if (isBlank(name)) {
+                throw new IllegalArgumentException("talonone.shards[" + i + "].name must not be blank.");
+            }
+            if (!names.add(name.trim())) {
+                throw new IllegalArgumentException("Duplicate Talon.One shard name '" + name + "' at talonone.shards[" + i + "].");
+            }
+            if (isBlank(shard.getBaseUrl())) {
+                throw new IllegalArgumentException("Talon.One shard '" + name + "' must have a base-url.");
+            }
+            if (isBlank(shard.getApiKey())) {
+                throw new IllegalArgumentException("Talon.One shard '" + name + "' must have an api-key.");
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Creates the pooled HTTP client dedicated to one Talon.One application.
+     *
+     * @param properties bound talonone.* properties
+     * @return HTTP client with its own connection pool
+     */
+    private CloseableHttpClient talonOneHttpClient(TalonOneProperties properties) {
+        Timeout connectTimeout = Timeout.ofMilliseconds(properties.getConnectTimeoutMs());
+        Timeout readTimeout = Timeout.ofMilliseconds(properties.getReadTimeoutMs());
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(readTimeout)
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(connectTimeout)
+                        .setResponseTimeout(readTimeout)
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    /**
+     * Creates a RestTemplate dedicated to one Talon.One application.
+     *
+     * @param httpClient the shard's pooled HTTP client
+     * @param shardName the shard name, recorded on tracing spans
+     * @param apiKey the shard's API key
+     * @return configured RestTemplate instance
+     */
+    private RestTemplate talonOneRestTemplate(CloseableHttpClient httpClient, String shardName, String apiKey) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.setInterceptors(Collections.singletonList(talonOneInterceptor(shardName, apiKey)));
         return restTemplate;
     }
 
     /**
      * Creates a ClientHttpRequestInterceptor that:
-     *   - Adds the Authorization header with the Talon.One API key.
-     *   - Logs HTTP method and URI for each outgoing request.
+     *   - Adds the Authorization header with the shard's Talon.One API key.
+     *   - Wraps the call in a tracing span and propagates it via the traceparent header.
+     *   - Optionally logs HTTP method, URI, status and duration (talonone.log-requests).
      *   - Ensures sensitive information is not logged.
      *
+     * @param shardName the shard name
+     * @param apiKey the shard's API key
      * @return configured ClientHttpRequestInterceptor
      */
-    private ClientHttpRequestInterceptor talonOneInterceptor() {
+    private ClientHttpRequestInterceptor talonOneInterceptor(String shardName, String apiKey) {
         return new ClientHttpRequestInterceptor() {
             @Override
-            public org.springframework.http.client.ClientHttpResponse intercept(
+            public ClientHttpResponse intercept(
                     HttpRequest request,
                     byte[] body,
                     ClientHttpRequestExecution execution
             ) throws IOException {
                 // Attach Authorization header using Bearer token
                 HttpHeaders headers = request.getHeaders();
-                headers.setBearerAuth(talonOneApiKey);
+                headers.setBearerAuth(apiKey);
 
-                // Log essential request details (method and URI only)
-                logger.info("[Talon.One] Request: {} {}", request.getMethod(), request.getURI());
+                try (Span span = tracer.startSpan("TalonOne " + request.getMethod())) {
+                    span.tag("talonone.shard", shardName);
+                    span.tag("http.path", request.getURI().getPath());
+                    String traceparent = span.traceparent();
+                    if (traceparent != null) {
+                        headers.set("traceparent", traceparent);
+                    }
 
-                return execution.execute(request, body);
+                    long start = System.nanoTime();
+                    try {
+                        ClientHttpResponse response = execution.execute(request, body);
+                        span.tag("http.status", response.getStatusCode().value());
+                        if (logRequests) {
+                            // Log essential request details (method, URI, status and latency only)
+                            logger.info("[Talon.One:{}] Request: {} {} -> {} in {} ms", shardName, request.getMethod(), request.getURI(),
+                                    response.getStatusCode().value(), (System.nanoTime() - start) / 1_000_000);
+                        }
+                        return response;
+                    } catch (IOException | RuntimeException ex) {
+                        span.recordError(ex);
+                        throw ex;
+                    }
+                }
             }
         };
     }
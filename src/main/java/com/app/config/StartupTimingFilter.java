@@ -0,0 +1,131 @@
+package com.app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs, once per JVM, time-to-first-request and time-to-steady-state. Complements the
+ * time-to-ready figure logged by {@link StartupWarmup}.
+ * <p>
+ * Request latencies are averaged over windows of {@code app.warmup.steady-state.window}
+ * requests; steady state is reached when a window's mean latency is within
+ * {@code app.warmup.steady-state.tolerance} of the previous window's, i.e. JIT compilation and
+ * lazy initialization no longer make requests noticeably faster. {@code /actuator/**} probes are
+ * not counted, so readiness and liveness checks cannot mark the instance as warmed up.
+ * </p>
+ * <p>
+ * Requests only add to a {@link LongAdder} and bump a counter; the thread whose request closes a
+ * window compares it with the previous one. Traffic that never settles stops the measurement after
+ * {@code app.warmup.steady-state.max-windows} windows or {@code app.warmup.steady-state.max-seconds}
+ * after the first request, whichever comes first. Once the filter is done it costs a single volatile read.
+ * </p>
+ */
+@Component
+public class StartupTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingFilter.class);
+
+    @Value("${app.warmup.steady-state.window:100}")
+    private int window;
+
+    @Value("${app.warmup.steady-state.tolerance:0.1}")
+    private double tolerance;
+
+    @Value("${app.warmup.steady-state.max-windows:50}")
+    private int maxWindows;
+
+    @Value("${app.warmup.steady-state.max-seconds:600}")
+    private long maxSeconds;
+
+    private volatile boolean done;
+    private volatile long deadlineNanos;
+    private final AtomicBoolean seen = new AtomicBoolean();
+    private final AtomicLong requests = new AtomicLong();
+    private final LongAdder windowNanos = new LongAdder();
+    // Only touched by the thread closing a window, under closeWindow's lock
+    private int windows;
+    private double previousMeanNanos = -1;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return done || request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            record(request, start, System.nanoTime());
+        }
+    }
+
+    private void record(HttpServletRequest request, long startNanos, long endNanos) {
+        if (done) {
+            return;
+        }
+        if (!seen.get() && seen.compareAndSet(false, true)) {
+            deadlineNanos = endNanos + TimeUnit.SECONDS.toNanos(maxSeconds);
+            logger.info("[Startup] First request {} {} completed {} ms after JVM start (took {} ms)",
+                    request.getMethod(), request.getRequestURI(), StartupWarmup.sinceJvmStartMs(),
+                    (endNanos - startNanos) / 1_000_000);
+        }
+
+        windowNanos.add(endNanos - startNanos);
+        long count = requests.incrementAndGet();
+        if (count % window == 0) {
+            closeWindow(count);
+        } else if (deadlineNanos != 0 && endNanos - deadlineNanos > 0) {
+            giveUp(count, "after " + maxSeconds + " s");
+        }
+    }
+
+    /**
+     * Compares the window just completed with the previous one. Requests racing with the close may
+     * land in either window, which only blurs the means slightly.
+     */
+    private synchronized void closeWindow(long count) {
+        if (done) {
+            return;
+        }
+        double meanNanos = (double) windowNanos.sumThenReset() / window;
+        windows++;
+        if (previousMeanNanos > 0 && Math.abs(meanNanos - previousMeanNanos) <= tolerance * previousMeanNanos) {
+            done = true;
+            logger.info("[Startup] Steady state reached {} ms after JVM start, after {} requests (mean latency {} ms)",
+                    StartupWarmup.sinceJvmStartMs(), count, String.format("%.2f", meanNanos / 1_000_000));
+            return;
+        }
+        previousMeanNanos = meanNanos;
+        if (windows >= maxWindows) {
+            giveUp(count, "after " + windows + " windows");
+        } else if (deadlineNanos != 0 && System.nanoTime() - deadlineNanos > 0) {
+            giveUp(count, "after " + maxSeconds + " s");
+        }
+    }
+
+    private synchronized void giveUp(long count, String reason) {
+        if (done) {
+            return;
+        }
+        done = true;
+        logger.info("[Startup] Steady state not reached {} ({} requests, {} ms after JVM start); no longer measuring",
+                reason, count, StartupWarmup.sinceJvmStartMs());
+    }
+}
@@ -0,0 +1,150 @@
+package com.app.config;
+
+import com.app.model.RewardsResponse;
+import com.app.model.SessionDTO;
+import com.app.talonone.TalonOneShard;
+import com.app.talonone.TalonOneShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warms up a freshly started instance before it is reported ready.
+ * <p>
+ * Runs on {@link ApplicationStartedEvent}, i.e. after the context refresh but before
+ * Spring Boot publishes the readiness {@code ACCEPTING_TRAFFIC} state, so a readiness
+ * probe on {@code /actuator/health/readiness} keeps the pod out of the load balancer
+ * until warmup completes. The warmup:
+ * <ul>
+ *   <li>pre-opens {@code app.warmup.jdbc-connections} JDBC connections in the pool;</li>
+ *   <li>optionally pings every Talon.One shard to establish its TLS/keep-alive connection;</li>
+ *   <li>round-trips {@link SessionDTO} and {@link RewardsResponse} through Jackson so the
+ *       serializers are built and the hot paths are JIT-compiled.</li>
+ * </ul>
+ * Time-to-ready (JVM start to end of warmup) is logged, and {@link StartupTimingFilter}
+ * logs time-to-first-request and time-to-steady-state.
+ * </p>
+ */
+@Component
+public class StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.jdbc-connections:5}")
+    private int jdbcConnections;
+
+    @Value("${app.warmup.serialization-iterations:2000}")
+    private int serializationIterations;
+
+    @Value("${app.warmup.talonone-ping:false}")
+    private boolean talonOnePing;
+
+    private final DataSource dataSource;
+    private final TalonOneShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    public StartupWarmup(DataSource dataSource, TalonOneShardRouter shardRouter, ObjectMapper objectMapper) {
+        this.dataSource = dataSource;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs the warmup synchronously, delaying readiness until it completes.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        long contextReadyMs = sinceJvmStartMs();
+        if (!enabled) {
+            logger.info("[Startup] Context started {} ms after JVM start; warmup disabled", contextReadyMs);
+            return;
+        }
+
+        long start = System.nanoTime();
+        warmJdbcPool();
+        if (talonOnePing) {
+            warmTalonOneConnection();
+        }
+        warmSerialization();
+
+        logger.info("[Startup] Context started {} ms after JVM start; warmup took {} ms; ready after {} ms",
+                contextReadyMs, (System.nanoTime() - start) / 1_000_000, sinceJvmStartMs());
+    }
+
+    private void warmJdbcPool() {
+        List<Connection> connections = new ArrayList<>(jdbcConnections);
+        try {
+            for (int i = 0; i < jdbcConnections; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException ex) {
+            logger.warn("[Startup] JDBC warmup opened {} of {} connections: {}", connections.size(), jdbcConnections, ex.getMessage());
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // returned to the pool best-effort
+                }
+            }
+        }
+    }
+
+    private void warmTalonOneConnection() {
+        for (TalonOneShard shard : shardRouter.getShards()) {
+            try {
+                shard.getRestTemplate().headForHeaders(shard.getBaseUrl());
+            } catch (RestClientException ex) {
+                // Any HTTP answer (even 4xx) has already established the connection
+                logger.debug("[Startup] Talon.One warmup ping to shard {} returned: {}", shard.getName(), ex.getMessage());
+            }
+        }
+    }
+
+    private void warmSerialization() {
+        SessionDTO session = SessionDTO.builder()
+                .integrationId("warmup")
+                .cartItems(List.of())
+                .cartTotal(4250L)
+                .sessionAttributes(Map.of("channel", "warmup"))
+                .build();
+        RewardsResponse rewards = RewardsResponse.builder()
+                .discountAmount(500L)
+                .loyaltyUsed(true)
+                .appliedCampaigns(List.of("warmup-campaign"))
+                .appliedCoupons(List.of("WARMUP"))
+                .message("warmup")
+                .build();
+        try {
+            for (int i = 0; i < serializationIterations; i++) {
+                objectMapper.readValue(objectMapper.writeValueAsBytes(session), SessionDTO.class);
+                objectMapper.readValue(objectMapper.writeValueAsBytes(rewards), RewardsResponse.class);
+            }
+        } catch (IOException ex) {
+            logger.warn("[Startup] Serialization warmup failed: {}", ex.getMessage());
+        }
+    }
+
+    static long sinceJvmStartMs() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
@@ -0,0 +1,25 @@
+package com.app.controller;
+
+import com.app.limiter.AdaptiveConcurrencyLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * LimiterController exposes the current inbound concurrency limit and admission counters.
+ */
+@RestController
+@RequestMapping("/internal/limiter")
+@RequiredArgsConstructor
+public class LimiterController {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * Show the current limit, in-flight requests and accepted/rejected totals.
+     */
+    @GetMapping
+    public ResponseEntity<AdaptiveConcurrencyLimiter.Stats> getLimiterStats() {
+        return ResponseEntity.ok(limiter.stats());
+    }
+}
@@ -0,0 +1,36 @@
+package com.app.controller;
+
+import com.app.cache.ClusterNearCacheManager;
+import com.app.cache.NearCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * NearCacheController exposes near cache hit-rate metrics and cluster invalidation counters.
+ */
+@RestController
+@RequestMapping("/internal/cache")
+@RequiredArgsConstructor
+public class NearCacheController {
+
+    private final ClusterNearCacheManager nearCache;
+
+    /**
+     * List size, hits, misses, hit rate, evictions and invalidations per cache on this node.
+     */
+    @GetMapping
+    public ResponseEntity<List<NearCache.Stats>> getCacheStats() {
+        return ResponseEntity.ok(nearCache.stats());
+    }
+
+    /**
+     * Show this node's ID and its invalidation message counters.
+     */
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterNearCacheManager.ClusterStats> getClusterStats() {
+        return ResponseEntity.ok(nearCache.clusterStats());
+    }
+}
@@ -1,12 +1,15 @@
 package com.app.controller;
 
 import com.app.model.OrderRequest;
+import com.app.model.OrderTicket;
 import com.app.model.RewardsResponse;
+import com.app.service.OrderPipeline;
 import com.app.service.OrderService;
 import com.app.service.RewardsService;
 import com.app.service.UserService;
 import jakarta.validation.Valid;
 lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,12 +25,19 @@ public class OrderController {
     private final OrderService orderService;
     private final RewardsService rewardsService;
     private final UserService userService;
+    private final OrderPipeline orderPipeline;
 
     /**
      * Place a new order, evaluate rewards, save order, and update user stats.
      */
     @PostMapping
     public ResponseEntity<?> placeOrder(@Valid @RequestBody OrderRequest orderRequest) {
+        // Reject unsupported currencies before calling Talon.One
+        try {
+            orderService.resolveCurrency(orderRequest);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
         // Evaluate rewards
         RewardsResponse rewards = rewardsService.evaluateRewards(orderRequest.getCart());
         // Save order
@@ -36,4 +46,38 @@ public class OrderController {
         userService.updateUserStatsAfterOrder(orderRequest.getUserId(), savedOrder);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedOrder);
     }
+
+    /**
+     * Accept an order for asynchronous placement and return a ticket immediately.
+     * Rewards evaluation, persistence and user stats run later in the order pipeline.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<?> placeOrderAsync(@Valid @RequestBody OrderRequest orderRequest) {
+        OrderTicket ticket;
+        try {
+            ticket = orderPipeline.submit(orderRequest);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        if (ticket == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Order queue is full, retry shortly.");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/orders/" + ticket.getTicketId())
+                .body(ticket);
+    }
+
+    /**
+     * Poll the status of an asynchronously placed order.
+     */
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<OrderTicket> getOrderTicket(@PathVariable String ticketId) {
+        OrderTicket ticket = orderPipeline.getTicket(ticketId);
+        if (ticket == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ticket);
+    }
 }
@@ -0,0 +1,38 @@
+package com.app.controller;
+
+import com.app.service.UserStatsReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ReconciliationController starts and monitors the user stats reconciliation job.
+ */
+@RestController
+@RequestMapping("/internal/reconciliation/user-stats")
+@RequiredArgsConstructor
+public class ReconciliationController {
+
+    private final UserStatsReconciliationService reconciliationService;
+
+    /**
+     * Start a run, resuming from the last checkpoint if the previous run did not finish.
+     * Answers 409 if a run is already in progress on any instance.
+     */
+    @PostMapping
+    public ResponseEntity<UserStatsReconciliationService.Status> startReconciliation() {
+        if (!reconciliationService.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(reconciliationService.getStatus());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.getStatus());
+    }
+
+    /**
+     * Show progress of the current or most recent run.
+     */
+    @GetMapping
+    public ResponseEntity<UserStatsReconciliationService.Status> getReconciliationStatus() {
+        return ResponseEntity.ok(reconciliationService.getStatus());
+    }
+}
@@ -0,0 +1,58 @@
+package com.app.controller;
+
+import com.app.model.CampaignRollup;
+import com.app.model.DailyRevenueRollup;
+import com.app.model.UserRevenueRollup;
+import com.app.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * ReportController serves revenue, discount and loyalty reports from the rollup tables only.
+ */
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final RollupService rollupService;
+
+    /**
+     * Daily revenue, discount, order and loyalty counts for an inclusive date range.
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailyRevenueRollup>> getDailyReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(rollupService.getDailyRollups(from, to));
+    }
+
+    /**
+     * Lifetime totals for a single user.
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<UserRevenueRollup> getUserReport(@PathVariable Long userId) {
+        UserRevenueRollup rollup = rollupService.getUserRollup(userId);
+        if (rollup == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(rollup);
+    }
+
+    /**
+     * Totals of the orders each campaign applied to, largest first.
+     */
+    @GetMapping("/campaigns")
+    public ResponseEntity<List<CampaignRollup>> getCampaignReport() {
+        return ResponseEntity.ok(rollupService.getCampaignRollups());
+    }
+}
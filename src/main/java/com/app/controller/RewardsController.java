@@ -19,13 +19,13 @@ public class RewardsController {
     private final RewardsService rewardsService;
 
     /**
-     * Evaluate rewards for a given cart.
+     * Evaluate (preview) rewards for a given cart.
      */
     @PostMapping("/evaluate")
     public ResponseEntity<RewardsResponse> evaluateRewards(
             @Valid @RequestBody CartRequest cartRequest
     ) {
-        RewardsResponse response = rewardsService.evaluateRewards(cartRequest);
+        RewardsResponse response = rewardsService.previewRewards(cartRequest);
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,50 @@
+package com.app.controller;
+
+import com.app.service.RollupRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * RollupRebuildController starts and monitors set-based rebuilds of the reporting rollups.
+ */
+@RestController
+@RequestMapping("/internal/rollups/rebuild")
+@RequiredArgsConstructor
+public class RollupRebuildController {
+
+    private final RollupRebuildService rebuildService;
+
+    /**
+     * Start a rebuild of the daily rows for an inclusive range of past days, then of all user and campaign rows.
+     * Answers 400 if the range is empty or includes today, and 409 if a rebuild is already in progress.
+     */
+    @PostMapping
+    public ResponseEntity<RollupRebuildService.Status> startRebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        boolean started;
+        try {
+            started = rebuildService.start(from, to);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!started) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(rebuildService.getStatus());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rebuildService.getStatus());
+    }
+
+    /**
+     * Show progress of the current or most recent rebuild.
+     */
+    @GetMapping
+    public ResponseEntity<RollupRebuildService.Status> getRebuildStatus() {
+        return ResponseEntity.ok(rebuildService.getStatus());
+    }
+}
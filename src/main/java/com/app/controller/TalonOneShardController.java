@@ -0,0 +1,28 @@
+package com.app.controller;
+
+import com.app.talonone.TalonOneShard;
+import com.app.talonone.TalonOneShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * TalonOneShardController exposes health and request metrics of the Talon.One shards.
+ */
+@RestController
+@RequestMapping("/internal/talonone/shards")
+@RequiredArgsConstructor
+public class TalonOneShardController {
+
+    private final TalonOneShardRouter shardRouter;
+
+    /**
+     * List every shard with its health, request and failure counts and average latency.
+     */
+    @GetMapping
+    public ResponseEntity<List<TalonOneShard.Stats>> getShardStats() {
+        return ResponseEntity.ok(shardRouter.stats());
+    }
+}
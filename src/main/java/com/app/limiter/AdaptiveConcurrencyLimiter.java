@@ -0,0 +1,162 @@
+package com.app.limiter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gradient-style adaptive concurrency limiter shared by all REST endpoints.
+ * <p>
+ * The limit on in-flight requests is re-estimated from every completed request:
+ * <pre>
+ *   ratio    = rtt / baseline(endpoint)
+ *   gradient = clamp(longRatio / shortRatio, 0.5, 1.0)
+ *   newLimit = limit * gradient + sqrt(limit)
+ *   limit    = limit * (1 - smoothing) + newLimit * smoothing
+ * </pre>
+ * Endpoints differ in latency by orders of magnitude, so each sample is first normalised
+ * against its own endpoint's baseline, a slow exponential average approximating that
+ * endpoint's no-load latency. {@code longRatio} and {@code shortRatio} are slow and fast
+ * averages of those normalised samples, so a shift in traffic mix (e.g. more cheap reads)
+ * does not look like a change in load. When latency rises because work queues up, the
+ * gradient falls below 1 and the limit shrinks; while latency is flat the
+ * {@code sqrt(limit)} headroom lets it grow. The limit only grows when the service
+ * actually uses most of it, so an idle instance does not inflate its limit.
+ * </p>
+ * <p>
+ * Each {@link Priority} may only use a share of the limit, so as the limit tightens
+ * low-priority requests are rejected first while high-priority ones are still admitted.
+ * </p>
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);
+    private static final double SHORT_RTT_ALPHA = 2.0 / (10 + 1);
+
+    /**
+     * Cap on tracked endpoints; further endpoints share one baseline.
+     */
+    private static final int MAX_ENDPOINTS = 256;
+    private static final String OTHER_ENDPOINT = "other";
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final double smoothing;
+
+    private volatile double limit;
+    private final Map<String, Baseline> baselines = new ConcurrentHashMap<>();
+    private double longRatio = 1.0;
+    private double shortRatio = 1.0;
+
+    public AdaptiveConcurrencyLimiter(@Value("${app.limiter.initial-limit:50}") int initialLimit,
+                                      @Value("${app.limiter.min-limit:10}") int minLimit,
+                                      @Value("${app.limiter.max-limit:500}") int maxLimit,
+                                      @Value("${app.limiter.smoothing:0.2}") double smoothing) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Tries to admit a request of the given priority.
+     * @param priority the endpoint priority
+     * @return the System.nanoTime() start token to pass to {@link #release}, or -1 if rejected
+     */
+    public long tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.getShare()));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                rejected.incrementAndGet();
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and, if it completed normally, feeds its latency into the limit.
+     * @param startNanos the token returned by {@link #tryAcquire}
+     * @param endpoint the endpoint the request was for, e.g. {@code "GET /users/{id}"}; its latency
+     *                 is compared against that endpoint's own baseline
+     * @param sample false for requests whose latency says nothing about load (e.g. failed fast)
+     */
+    public void release(long startNanos, String endpoint, boolean sample) {
+        int inflightBefore = inflight.getAndDecrement();
+        if (sample) {
+            update(baseline(endpoint), System.nanoTime() - startNanos, inflightBefore);
+        }
+    }
+
+    private Baseline baseline(String endpoint) {
+        Baseline baseline = baselines.get(endpoint);
+        if (baseline != null) {
+            return baseline;
+        }
+        return baselines.computeIfAbsent(baselines.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINT,
+                key -> new Baseline());
+    }
+
+    private synchronized void update(Baseline baseline, long rttNanos, int inflightAtCompletion) {
+        if (baseline.rttNanos == 0) {
+            baseline.rttNanos = rttNanos;
+            return;
+        }
+        double ratio = rttNanos / baseline.rttNanos;
+        // Follow the endpoint's latency down quickly and up slowly, so the baseline stays near no-load latency
+        baseline.rttNanos += (rttNanos - baseline.rttNanos) * (ratio < 1 ? SHORT_RTT_ALPHA : LONG_RTT_ALPHA);
+
+        shortRatio += (ratio - shortRatio) * SHORT_RTT_ALPHA;
+        longRatio += (ratio - longRatio) * LONG_RTT_ALPHA;
+
+        // Let the baseline recover quickly after a sustained latency shift
+        if (longRatio / shortRatio > 2) {
+            longRatio *= 0.95;
+        }
+
+        double current = limit;
+        // Application-limited: not enough traffic to learn anything about a higher limit
+        if (inflightAtCompletion < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, longRatio / shortRatio));
+        double newLimit = current * gradient + Math.sqrt(current);
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * @return a point-in-time view of the limiter state
+     */
+    public Stats stats() {
+        double currentLimit = limit;
+        return new Stats(currentLimit, inflight.get(), accepted.get(), rejected.get(), baselines.size());
+    }
+
+    /**
+     * No-load latency estimate of one endpoint; only accessed under the limiter's lock.
+     */
+    private static final class Baseline {
+        private double rttNanos;
+    }
+
+    /**
+     * Snapshot of the limiter's current limit and admission counters.
+     */
+    public record Stats(double limit, int inflight, long accepted, long rejected, int endpoints) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.app.limiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admits inbound requests through the {@link AdaptiveConcurrencyLimiter} before they reach
+ * the controllers, answering a fast {@code 503 Service Unavailable} with {@code Retry-After}
+ * when the request's priority share of the limit is used up.
+ * <p>
+ * Priorities per endpoint:
+ * <ul>
+ *   <li>{@code GET /users/**} and {@code GET /orders/{ticketId}}: {@link Priority#HIGH}</li>
+ *   <li>{@code /orders} placement and other user endpoints: {@link Priority#MEDIUM}</li>
+ *   <li>{@code /rewards/**} previews and {@code /reports/**}: {@link Priority#LOW}</li>
+ * </ul>
+ * {@code /internal/**} and {@code /actuator/**} are never limited so operators can still
+ * see what is going on under overload. Latencies are reported per endpoint, with numeric
+ * path segments collapsed to {@code {id}}, so each endpoint is measured against its own baseline.
+ * </p>
+ * <p>
+ * Rejected requests carry the {@value #REJECTED_ATTRIBUTE} request attribute so the tracing
+ * filter can tag them instead of recording them as errors.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED_ATTRIBUTE = "limiter.rejected";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Value("${app.limiter.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled || path.startsWith("/internal/") || path.startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long token = limiter.tryAcquire(classify(request));
+        if (token < 0) {
+            request.setAttribute(REJECTED_ATTRIBUTE, Boolean.TRUE);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        boolean sample = false;
+        try {
+            chain.doFilter(request, response);
+            sample = response.getStatus() < 500;
+        } finally {
+            limiter.release(token, endpoint(request), sample);
+        }
+    }
+
+    /**
+     * @return the method and path of the request with IDs collapsed, e.g. {@code "GET /users/{id}"}
+     */
+    static String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        StringBuilder sb = new StringBuilder(request.getMethod().length() + path.length() + 1)
+                .append(request.getMethod()).append(' ');
+        int start = 0;
+        while (start < path.length()) {
+            int slash = path.indexOf('/', start + 1);
+            int end = slash < 0 ? path.length() : slash;
+            if (containsDigit(path, start, end)) {
+                sb.append("/{id}");
+            } else {
+                sb.append(path, start, end);
+            }
+            start = end;
+        }
+        return sb.toString();
+    }
+
+    private static boolean containsDigit(String path, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            if (c >= '0' && c <= '9') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        boolean get = "GET".equals(request.getMethod());
+        if (path.startsWith("/rewards") || path.startsWith("/reports")) {
+            return Priority.LOW;
+        }
+        if (get && (path.startsWith("/users/") || path.startsWith("/orders/"))) {
+            return Priority.HIGH;
+        }
+        return Priority.MEDIUM;
+    }
+}
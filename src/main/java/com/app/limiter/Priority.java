@@ -0,0 +1,27 @@
+package com.app.limiter;
+
+/**
+ * Endpoint priority for the {@link AdaptiveConcurrencyLimiter}: the share of the current
+ * concurrency limit that requests of this priority may occupy.
+ */
+public enum Priority {
+
+    /** Cheap reads that should keep being served under overload, e.g. {@code GET /users/{id}}. */
+    HIGH(1.0),
+
+    /** Order placement. */
+    MEDIUM(0.85),
+
+    /** Expensive or optional work shed first, e.g. {@code /rewards/evaluate} previews and reports. */
+    LOW(0.6);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    public double getShare() {
+        return share;
+    }
+}
@@ -0,0 +1,36 @@
+// src/main/java/com/app/model/CampaignRollup.java
+package com.app.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Rollup entity holding totals of the orders each Talon.One campaign applied to,
+ * maintained incrementally as orders are saved.
+ * <p>
+ * Talon.One reports one discount per evaluation, not per campaign, so discountApplied is
+ * the total discount of orders on which this campaign applied.
+ * </p>
+ */
+@Entity
+@Table(name = "campaign_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignRollup {
+
+    @Id
+    private String campaign;
+
+    private long orderCount;
+
+    // Amounts in minor units (cents)
+    @MinorUnits
+    @Column(name = "total_amount_cents")
+    private long totalAmount;
+
+    @MinorUnits
+    @Column(name = "discount_applied_cents")
+    private long discountApplied;
+}
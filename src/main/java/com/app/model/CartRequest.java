@@ -16,7 +16,9 @@ import java.util.List;
 public class CartRequest implements Serializable {
     private Long userId;
     private List<CartItemDTO> items;
-    private double totalAmount;
+    @MinorUnits
+    private long totalAmount; // minor units (cents)
+    private String currency; // ISO 4217 code, must be the settlement currency (app.money.currency); defaults to it
     private ProfileDTO profileDTO;
     private SessionDTO sessionDTO;
 }
@@ -0,0 +1,36 @@
+// src/main/java/com/app/model/DailyRevenueRollup.java
+package com.app.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Rollup entity holding order totals per calendar day, maintained incrementally as orders are saved.
+ */
+@Entity
+@Table(name = "daily_revenue_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueRollup {
+
+    @Id
+    private LocalDate day;
+
+    private long orderCount;
+
+    // Amounts in minor units (cents)
+    @MinorUnits
+    @Column(name = "total_amount_cents")
+    private long totalAmount;
+
+    @MinorUnits
+    @Column(name = "discount_applied_cents")
+    private long discountApplied;
+
+    // Orders on this day that used loyalty points
+    private long loyaltyOrders;
+}
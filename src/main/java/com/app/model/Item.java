@@ -25,7 +25,10 @@ public class Item {
 
     private int quantity;
 
-    private double price;
+    // Unit price in minor units (cents)
+    @MinorUnits
+    @Column(name = "price_cents")
+    private long price;
 
     // Many items belong to one order
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,73 @@
+// src/main/java/com/app/model/MinorUnits.java
+package com.app.model;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code long} field holding money in minor units (cents).
+ * <p>
+ * In JSON the amount is written and read as a decimal number, e.g. {@code 19.99}, so the
+ * API and the Talon.One payloads keep their format. The decimal text is parsed directly
+ * into cents by {@link Money#parse}, never through {@code double}.
+ * </p>
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotationsInside
+@JsonSerialize(using = MinorUnits.Serializer.class)
+@JsonDeserialize(using = MinorUnits.Deserializer.class)
+public @interface MinorUnits {
+
+    /**
+     * Writes cents as a decimal JSON number with two fractional digits.
+     */
+    class Serializer extends JsonSerializer<Long> {
+        @Override
+        public void serialize(Long cents, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(Money.format(cents));
+        }
+    }
+
+    /**
+     * Reads a decimal JSON number (or numeric string) exactly into cents; {@code null} reads as zero.
+     */
+    class Deserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                    && token != JsonToken.VALUE_STRING) {
+                return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+            }
+            try {
+                return Money.parse(p.getText().trim());
+            } catch (NumberFormatException | ArithmeticException ex) {
+                return (Long) ctxt.handleWeirdStringValue(Long.class, p.getText(), "not a valid money amount");
+            }
+        }
+
+        /**
+         * JSON {@code null} reads as zero, as it did for the primitive fields before this deserializer,
+         * instead of failing to assign null to a {@code long}.
+         */
+        @Override
+        public Long getNullValue(DeserializationContext ctxt) {
+            return 0L;
+        }
+    }
+}
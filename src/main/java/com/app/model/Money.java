@@ -0,0 +1,199 @@
+// src/main/java/com/app/model/Money.java
+package com.app.model;
+
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents).
+ * <p>
+ * All amounts in entities and DTOs are stored as cents in a primitive {@code long}, so
+ * arithmetic is exact and allocates nothing, unlike {@code double} (rounding drift) or
+ * {@code BigDecimal} (an object per operation). Every operation fails with
+ * {@link ArithmeticException} on overflow instead of wrapping.
+ * On the wire, amounts stay decimal numbers with two fractional digits; see {@link MinorUnits}.
+ * </p>
+ */
+public final class Money {
+
+    /**
+     * Default settlement currency, assumed when a request does not specify one.
+     */
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    /**
+     * Number of fractional digits represented by the minor unit.
+     */
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private static final int MAX_EXPONENT = 1000;
+
+    private Money() {
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * @return the line total of {@code quantity} units at {@code unitPrice} cents each
+     */
+    public static long multiply(long unitPrice, long quantity) {
+        return Math.multiplyExact(unitPrice, quantity);
+    }
+
+    /**
+     * Resolves and validates the currency of an order. Amounts are stored with a fixed scale of
+     * {@value #SCALE} and user totals and rollups are single-currency sums, so only the settlement
+     * currency is accepted, and it must be an ISO 4217 currency with {@value #SCALE} fractional digits.
+     * @param requested the requested ISO 4217 code, or null for the settlement currency
+     * @param settlementCurrency the currency all amounts are kept in
+     * @return the upper-case currency code
+     * @throws IllegalArgumentException if the currency is unknown, has a different scale, or is not the settlement currency
+     */
+    public static String validateCurrency(String requested, String settlementCurrency) {
+        String code = (requested != null ? requested : settlementCurrency).trim().toUpperCase(Locale.ROOT);
+        Currency currency;
+        try {
+            currency = Currency.getInstance(code);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown currency: " + code);
+        }
+        if (currency.getDefaultFractionDigits() != SCALE) {
+            throw new IllegalArgumentException("Unsupported currency " + code + ": amounts must have "
+                    + SCALE + " fractional digits");
+        }
+        if (!code.equalsIgnoreCase(settlementCurrency)) {
+            throw new IllegalArgumentException("Unsupported currency " + code + ": orders must be in " + settlementCurrency);
+        }
+        return code;
+    }
+
+    /**
+     * Formats cents as a plain decimal string with exactly two fractional digits, e.g. 1999 as "19.99".
+     * @param cents the amount in minor units
+     * @return the decimal representation
+     */
+    public static String format(long cents) {
+        StringBuilder sb = new StringBuilder(24);
+        long abs = cents;
+        if (cents < 0) {
+            sb.append('-');
+            abs = -cents; // Long.MIN_VALUE stays negative and is read back as unsigned below
+        }
+        long major = Long.divideUnsigned(abs, MINOR_PER_MAJOR);
+        long minor = Long.remainderUnsigned(abs, MINOR_PER_MAJOR);
+        sb.append(Long.toUnsignedString(major)).append('.');
+        if (minor < 10) {
+            sb.append('0');
+        }
+        return sb.append(minor).toString();
+    }
+
+    /**
+     * Parses a decimal amount such as "19.99", "-5", "3.5" or "1.2345e2" into cents.
+     * The decimal point is shifted by the exponent first, then the result is rounded half-up
+     * once at two fractional digits, so "1.005e1" is 10.05 and "1.2345e2" is 123.45.
+     * @param text the decimal text
+     * @return the amount in minor units
+     * @throws NumberFormatException if the text is not a decimal number
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static long parse(CharSequence text) {
+        int length = text.length();
+        if (length == 0) {
+            throw new NumberFormatException("Empty amount");
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        // All significant digits as one integer, and how many of them follow the decimal point
+        long digits = 0;
+        int fractionDigits = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        // Fraction digits that no longer fit in a long can only matter for rounding, and then only the first one
+        int droppedFirst = -1;
+        int exponent = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (digits <= (Long.MAX_VALUE - (c - '0')) / 10) {
+                    digits = digits * 10 + (c - '0');
+                    if (seenPoint) {
+                        fractionDigits++;
+                    }
+                } else if (!seenPoint) {
+                    throw new ArithmeticException("Amount out of range: " + text);
+                } else if (droppedFirst < 0) {
+                    droppedFirst = c - '0';
+                }
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else if ((c == 'e' || c == 'E') && seenDigit) {
+                exponent = parseExponent(text, i + 1);
+                break;
+            } else {
+                throw new NumberFormatException("Invalid amount: " + text);
+            }
+        }
+        if (!seenDigit) {
+            throw new NumberFormatException("Invalid amount: " + text);
+        }
+
+        // value = digits * 10^(exponent - fractionDigits); cents = digits * 10^shift
+        int shift = exponent - fractionDigits + SCALE;
+        long units;
+        if (shift > 0) {
+            if (droppedFirst >= 0) {
+                // digits already fills a long, so scaling it up must overflow
+                throw new ArithmeticException("Amount out of range: " + text);
+            }
+            units = Math.multiplyExact(digits, pow10(shift));
+        } else if (shift == 0) {
+            units = droppedFirst >= 5 ? Math.addExact(digits, 1) : digits;
+        } else if (shift < -18) {
+            // 10^19 does not fit in a long; digits < 10^19, so the value is below one cent
+            units = shift == -19 && digits >= 5_000_000_000_000_000_000L ? 1 : 0;
+        } else {
+            long divisor = pow10(-shift);
+            long remainder = digits % divisor;
+            // Dropped digits are below the remainder's last place and cannot move it across one half
+            units = remainder * 2 >= divisor ? digits / divisor + 1 : digits / divisor;
+        }
+        return negative ? -units : units;
+    }
+
+    private static int parseExponent(CharSequence text, int from) {
+        int exponent;
+        try {
+            exponent = Integer.parseInt(text, from, text.length(), 10);
+        } catch (NumberFormatException ex) {
+            throw new NumberFormatException("Invalid amount: " + text);
+        }
+        if (Math.abs(exponent) > MAX_EXPONENT) {
+            throw new ArithmeticException("Amount out of range: " + text);
+        }
+        return exponent;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int e = 0; e < exponent; e++) {
+            result = Math.multiplyExact(result, 10);
+        }
+        return result;
+    }
+}
@@ -9,9 +9,14 @@ import java.util.List;
 
 /**
  * Order entity representing a user's order.
+ * <p>
+ * The (user_id, created_at) index serves per-user lookups and the range-chunked aggregation of
+ * the user stats reconciliation. On an existing database create it up front with
+ * {@code db/orders-user-created-at-index.sql}, which builds it concurrently.
+ * </p>
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_user_id_created_at", columnList = "user_id, created_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,9 +40,17 @@ public class Order {
     @EqualsAndHashCode.Exclude
     private List<Item> items;
 
-    private double totalAmount;
+    // Amounts in minor units (cents) of the order's currency
+    @MinorUnits
+    @Column(name = "total_amount_cents")
+    private long totalAmount;
 
-    private double discountApplied;
+    @MinorUnits
+    @Column(name = "discount_applied_cents")
+    private long discountApplied;
+
+    @Column(length = 3)
+    private String currency;
 
     private LocalDateTime createdAt;
 
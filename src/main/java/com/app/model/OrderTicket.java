@@ -0,0 +1,57 @@
+// src/main/java/com/app/model/OrderTicket.java
+package com.app.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity tracking an order accepted through the asynchronous placement pipeline.
+ * Returned by {@code POST /orders/async} and polled via {@code GET /orders/{ticketId}}.
+ * <p>
+ * Tickets are stored in the database so any instance can answer a poll. A ticket only becomes
+ * COMPLETED in the same transaction that inserts its order, and a FAILED ticket never has an order,
+ * so a client may safely resubmit a FAILED order.
+ * </p>
+ */
+@Entity
+@Table(name = "order_tickets", indexes = @Index(name = "idx_order_tickets_status_updated_at", columnList = "status, updated_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OrderTicket implements Serializable {
+
+    /**
+     * Lifecycle of an asynchronously placed order.
+     */
+    public enum Status {
+        QUEUED,
+        PROCESSING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String ticketId;
+
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Status status;
+
+    private Long orderId; // set once the order has been persisted
+
+    @Column(length = 1000)
+    private String error; // set when status is FAILED, or on COMPLETED when loyalty confirmation failed
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+}
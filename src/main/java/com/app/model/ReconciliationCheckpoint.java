@@ -0,0 +1,37 @@
+// src/main/java/com/app/model/ReconciliationCheckpoint.java
+package com.app.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint entity recording how far a reconciliation job has progressed, so an
+ * interrupted run resumes after the last fully reconciled user ID instead of starting over.
+ */
+@Entity
+@Table(name = "reconciliation_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationCheckpoint {
+
+    @Id
+    private String jobName;
+
+    // Every user ID up to and including the watermark has been reconciled in this run
+    private long watermark;
+
+    // Highest user ID covered by this run
+    private long maxId;
+
+    private long correctedUsers;
+
+    private boolean completed;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -14,7 +14,8 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class RewardsResponse implements Serializable {
-    private double discountAmount;
+    @MinorUnits
+    private long discountAmount; // minor units (cents), parsed exactly from Talon.One's decimal
     private boolean loyaltyUsed;
     private List<String> appliedCampaigns;
     private List<String> appliedCoupons;
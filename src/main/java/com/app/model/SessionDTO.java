@@ -17,6 +17,7 @@ import java.util.Map;
 public class SessionDTO implements Serializable {
     private String integrationId; // maps to userId
     private List<CartItemDTO> cartItems;
-    private double cartTotal;
+    @MinorUnits
+    private long cartTotal; // minor units (cents), sent to Talon.One as a decimal
     private Map<String, Object> sessionAttributes; // for extensibility
 }
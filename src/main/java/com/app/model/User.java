@@ -1,6 +1,7 @@
 // src/main/java/com/app/model/User.java
 package com.app.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -28,12 +29,16 @@ public class User {
 
     private int totalOrders;
 
-    private double totalSpent;
+    // Lifetime spend in minor units (cents)
+    @MinorUnits
+    @Column(name = "total_spent_cents")
+    private long totalSpent;
 
     private int loyaltyPoints;
 
-    // One user can have multiple orders
+    // One user can have multiple orders; never serialized so cached (detached) users stay safe to render
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private List<Order> orders;
@@ -0,0 +1,34 @@
+// src/main/java/com/app/model/UserRevenueRollup.java
+package com.app.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Rollup entity holding order totals per user, maintained incrementally as orders are saved.
+ */
+@Entity
+@Table(name = "user_revenue_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserRevenueRollup {
+
+    @Id
+    private Long userId;
+
+    private long orderCount;
+
+    // Amounts in minor units (cents)
+    @MinorUnits
+    @Column(name = "total_amount_cents")
+    private long totalAmount;
+
+    @MinorUnits
+    @Column(name = "discount_applied_cents")
+    private long discountApplied;
+
+    // Orders by this user that used loyalty points
+    private long loyaltyOrders;
+}
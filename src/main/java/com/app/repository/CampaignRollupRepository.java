@@ -0,0 +1,75 @@
+// File: CampaignRollupRepository.java
+package com.app.repository;
+
+import com.app.model.CampaignRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for CampaignRollup entity.
+ * <p>
+ * Provides reporting reads, an atomic upsert used to add orders to a campaign, and a
+ * set-based rebuild of all campaigns from the orders table.
+ * </p>
+ */
+public interface CampaignRollupRepository extends JpaRepository<CampaignRollup, String> {
+
+    List<CampaignRollup> findAllByOrderByTotalAmountDesc();
+
+    /**
+     * Adds order totals to a campaign's rollup row, creating it if needed, in one statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO campaign_rollups (campaign, order_count, total_amount_cents, discount_applied_cents) "
+            + "VALUES (:campaign, :orders, :total, :discount) "
+            + "ON CONFLICT (campaign) DO UPDATE SET "
+            + "order_count = campaign_rollups.order_count + EXCLUDED.order_count, "
+            + "total_amount_cents = campaign_rollups.total_amount_cents + EXCLUDED.total_amount_cents, "
+            + "discount_applied_cents = campaign_rollups.discount_applied_cents + EXCLUDED.discount_applied_cents",
+            nativeQuery = true)
+    void upsert(@Param("campaign") String campaign, @Param("orders") long orders, @Param("total") long total,
+                @Param("discount") long discount);
+
+    /**
+     * Blocks concurrent upserts until the current transaction ends, so deltas of orders committed
+     * during a rebuild are applied on top of the rebuilt rows instead of being overwritten.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE campaign_rollups IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    /**
+     * Recomputes every campaign row from the applied campaigns recorded on each order, replacing their totals.
+     * @return number of campaigns written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO campaign_rollups (campaign, order_count, total_amount_cents, discount_applied_cents) "
+            + "SELECT c.campaign, COUNT(*), SUM(o.total_amount_cents), SUM(o.discount_applied_cents) "
+            + "FROM orders o CROSS JOIN LATERAL "
+            + "jsonb_array_elements_text(CAST(o.reward_details AS jsonb) -> 'appliedCampaigns') AS c(campaign) "
+            + "WHERE jsonb_typeof(CAST(o.reward_details AS jsonb) -> 'appliedCampaigns') = 'array' "
+            + "AND c.campaign IS NOT NULL "
+            + "GROUP BY c.campaign "
+            + "ON CONFLICT (campaign) DO UPDATE SET "
+            + "order_count = EXCLUDED.order_count, "
+            + "total_amount_cents = EXCLUDED.total_amount_cents, "
+            + "discount_applied_cents = EXCLUDED.discount_applied_cents",
+            nativeQuery = true)
+    int rebuild();
+
+    /**
+     * Deletes the rows of campaigns no order applies any more.
+     * @return number of campaigns deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM campaign_rollups WHERE campaign NOT IN (SELECT c.campaign FROM orders o "
+            + "CROSS JOIN LATERAL jsonb_array_elements_text(CAST(o.reward_details AS jsonb) -> 'appliedCampaigns') AS c(campaign) "
+            + "WHERE jsonb_typeof(CAST(o.reward_details AS jsonb) -> 'appliedCampaigns') = 'array' "
+            + "AND c.campaign IS NOT NULL)",
+            nativeQuery = true)
+    int deleteCampaignsWithoutOrders();
+}
@@ -0,0 +1,67 @@
+// File: DailyRevenueRollupRepository.java
+package com.app.repository;
+
+import com.app.model.DailyRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for DailyRevenueRollup entity.
+ * <p>
+ * Provides range reads for reporting, an atomic upsert used to add orders to a day, and
+ * set-based rebuilds of days from the orders table.
+ * </p>
+ */
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, LocalDate> {
+
+    List<DailyRevenueRollup> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+
+    /**
+     * Adds order totals to a day's rollup row, creating it if needed, in one statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups (day, order_count, total_amount_cents, discount_applied_cents, loyalty_orders) "
+            + "VALUES (:day, :orders, :total, :discount, :loyalty) "
+            + "ON CONFLICT (day) DO UPDATE SET "
+            + "order_count = daily_revenue_rollups.order_count + EXCLUDED.order_count, "
+            + "total_amount_cents = daily_revenue_rollups.total_amount_cents + EXCLUDED.total_amount_cents, "
+            + "discount_applied_cents = daily_revenue_rollups.discount_applied_cents + EXCLUDED.discount_applied_cents, "
+            + "loyalty_orders = daily_revenue_rollups.loyalty_orders + EXCLUDED.loyalty_orders",
+            nativeQuery = true)
+    void upsert(@Param("day") LocalDate day, @Param("orders") long orders, @Param("total") long total,
+                @Param("discount") long discount, @Param("loyalty") long loyalty);
+
+    /**
+     * Recomputes the rows of every day with orders in [start, end) from the orders table, replacing their totals.
+     * @return number of days written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups (day, order_count, total_amount_cents, discount_applied_cents, loyalty_orders) "
+            + "SELECT CAST(o.created_at AS date), COUNT(*), SUM(o.total_amount_cents), SUM(o.discount_applied_cents), "
+            + "COUNT(*) FILTER (WHERE CAST(o.reward_details AS jsonb) ->> 'loyaltyUsed' = 'true') "
+            + "FROM orders o WHERE o.created_at >= :start AND o.created_at < :end "
+            + "GROUP BY CAST(o.created_at AS date) "
+            + "ON CONFLICT (day) DO UPDATE SET "
+            + "order_count = EXCLUDED.order_count, "
+            + "total_amount_cents = EXCLUDED.total_amount_cents, "
+            + "discount_applied_cents = EXCLUDED.discount_applied_cents, "
+            + "loyalty_orders = EXCLUDED.loyalty_orders",
+            nativeQuery = true)
+    int rebuild(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Deletes the rows of days in [from, to] that no longer have any orders.
+     * @return number of days deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM daily_revenue_rollups r WHERE r.day BETWEEN :from AND :to "
+            + "AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.created_at >= r.day AND o.created_at < r.day + 1)",
+            nativeQuery = true)
+    int deleteDaysWithoutOrders(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
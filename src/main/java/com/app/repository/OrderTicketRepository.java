@@ -0,0 +1,88 @@
+// File: OrderTicketRepository.java
+package com.app.repository;
+
+import com.app.model.OrderTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for OrderTicket entity.
+ * <p>
+ * Status transitions are conditional single-row UPDATEs, so a ticket that was already
+ * completed or failed (e.g. abandoned by another instance) is never moved again.
+ * Extends JpaRepository to leverage standard Spring Data JPA functionality.
+ * </p>
+ */
+public interface OrderTicketRepository extends JpaRepository<OrderTicket, String> {
+
+    /**
+     * Claims a QUEUED ticket for processing.
+     *
+     * @return 1 if claimed, 0 if the ticket is no longer QUEUED
+     */
+    @Transactional
+    @Modifying
+    @Query("update OrderTicket t set t.status = com.app.model.OrderTicket.Status.PROCESSING, t.updatedAt = :now "
+            + "where t.ticketId = :ticketId and t.status = com.app.model.OrderTicket.Status.QUEUED")
+    int claim(@Param("ticketId") String ticketId, @Param("now") LocalDateTime now);
+
+    /**
+     * Completes a pending ticket; meant to run in the transaction inserting its order.
+     *
+     * @return 1 if completed, 0 if the ticket is no longer pending
+     */
+    @Transactional
+    @Modifying
+    @Query("update OrderTicket t set t.status = com.app.model.OrderTicket.Status.COMPLETED, t.orderId = :orderId, "
+            + "t.updatedAt = :now, t.completedAt = :now where t.ticketId = :ticketId "
+            + "and t.status in (com.app.model.OrderTicket.Status.QUEUED, com.app.model.OrderTicket.Status.PROCESSING)")
+    int complete(@Param("ticketId") String ticketId, @Param("orderId") Long orderId, @Param("now") LocalDateTime now);
+
+    /**
+     * Fails a pending ticket.
+     *
+     * @return 1 if failed, 0 if the ticket is no longer pending
+     */
+    @Transactional
+    @Modifying
+    @Query("update OrderTicket t set t.status = com.app.model.OrderTicket.Status.FAILED, t.error = :error, "
+            + "t.updatedAt = :now, t.completedAt = :now where t.ticketId = :ticketId "
+            + "and t.status in (com.app.model.OrderTicket.Status.QUEUED, com.app.model.OrderTicket.Status.PROCESSING)")
+    int fail(@Param("ticketId") String ticketId, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Records a non-fatal error on a ticket, e.g. a failed loyalty confirmation after completion.
+     */
+    @Transactional
+    @Modifying
+    @Query("update OrderTicket t set t.error = :error, t.updatedAt = :now where t.ticketId = :ticketId")
+    int annotate(@Param("ticketId") String ticketId, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Fails tickets that have been pending since before the cutoff, e.g. because the instance
+     * holding them in its in-memory queue died.
+     *
+     * @return number of tickets failed
+     */
+    @Transactional
+    @Modifying
+    @Query("update OrderTicket t set t.status = com.app.model.OrderTicket.Status.FAILED, t.error = :error, "
+            + "t.updatedAt = :now, t.completedAt = :now where t.updatedAt < :cutoff "
+            + "and t.status in (com.app.model.OrderTicket.Status.QUEUED, com.app.model.OrderTicket.Status.PROCESSING)")
+    int failAbandoned(@Param("cutoff") LocalDateTime cutoff, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes finished tickets older than the retention cutoff.
+     *
+     * @return number of tickets deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from OrderTicket t where t.completedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,16 @@
+// File: ReconciliationCheckpointRepository.java
+package com.app.repository;
+
+import com.app.model.ReconciliationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for ReconciliationCheckpoint entity.
+ * <p>
+ * Provides CRUD operations for reconciliation job checkpoints, keyed by job name.
+ * Extends JpaRepository to leverage standard Spring Data JPA functionality.
+ * </p>
+ */
+public interface ReconciliationCheckpointRepository extends JpaRepository<ReconciliationCheckpoint, String> {
+    // Default query methods provided by JpaRepository are sufficient.
+}
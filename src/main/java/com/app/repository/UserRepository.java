@@ -3,6 +3,9 @@ package com.app.repository;
 
 import com.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for User entity.
@@ -12,5 +15,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * </p>
  */
 public interface UserRepository extends JpaRepository<User, Long> {
-    // Default query methods provided by JpaRepository are sufficient.
+
+    /**
+     * Atomically adds to a user's order statistics in a single UPDATE, avoiding the
+     * read-modify-write race of loading and re-saving the entity.
+     *
+     * @param id the user ID
+     * @param orders number of orders to add
+     * @param spent amount to add to totalSpent, in minor units (cents)
+     * @return number of rows updated (0 if the user does not exist)
+     */
+    @Modifying
+    @Query("update User u set u.totalOrders = u.totalOrders + :orders, u.totalSpent = u.totalSpent + :spent where u.id = :id")
+    int incrementStats(@Param("id") Long id, @Param("orders") int orders, @Param("spent") long spent);
 }
@@ -0,0 +1,72 @@
+// File: UserRevenueRollupRepository.java
+package com.app.repository;
+
+import com.app.model.UserRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for UserRevenueRollup entity.
+ * <p>
+ * Provides standard reads for reporting, an atomic upsert used to add orders to a user, and
+ * set-based rebuilds of user ID ranges from the orders table.
+ * </p>
+ */
+public interface UserRevenueRollupRepository extends JpaRepository<UserRevenueRollup, Long> {
+
+    /**
+     * Adds order totals to a user's rollup row, creating it if needed, in one statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_revenue_rollups (user_id, order_count, total_amount_cents, discount_applied_cents, loyalty_orders) "
+            + "VALUES (:userId, :orders, :total, :discount, :loyalty) "
+            + "ON CONFLICT (user_id) DO UPDATE SET "
+            + "order_count = user_revenue_rollups.order_count + EXCLUDED.order_count, "
+            + "total_amount_cents = user_revenue_rollups.total_amount_cents + EXCLUDED.total_amount_cents, "
+            + "discount_applied_cents = user_revenue_rollups.discount_applied_cents + EXCLUDED.discount_applied_cents, "
+            + "loyalty_orders = user_revenue_rollups.loyalty_orders + EXCLUDED.loyalty_orders",
+            nativeQuery = true)
+    void upsert(@Param("userId") Long userId, @Param("orders") long orders, @Param("total") long total,
+                @Param("discount") long discount, @Param("loyalty") long loyalty);
+
+    /**
+     * Blocks concurrent upserts until the current transaction ends, so deltas of orders committed
+     * during a rebuild are applied on top of the rebuilt rows instead of being overwritten.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE user_revenue_rollups IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    /**
+     * Recomputes the rows of users in [lo, hi] from the orders table, replacing their totals. Users with an
+     * order at or after quietCutoff are skipped, since that order's delta may not have been applied yet.
+     * @return number of users written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_revenue_rollups (user_id, order_count, total_amount_cents, discount_applied_cents, loyalty_orders) "
+            + "SELECT o.user_id, COUNT(*), SUM(o.total_amount_cents), SUM(o.discount_applied_cents), "
+            + "COUNT(*) FILTER (WHERE CAST(o.reward_details AS jsonb) ->> 'loyaltyUsed' = 'true') "
+            + "FROM orders o WHERE o.user_id BETWEEN :lo AND :hi "
+            + "GROUP BY o.user_id HAVING MAX(o.created_at) < :quietCutoff "
+            + "ON CONFLICT (user_id) DO UPDATE SET "
+            + "order_count = EXCLUDED.order_count, "
+            + "total_amount_cents = EXCLUDED.total_amount_cents, "
+            + "discount_applied_cents = EXCLUDED.discount_applied_cents, "
+            + "loyalty_orders = EXCLUDED.loyalty_orders",
+            nativeQuery = true)
+    int rebuild(@Param("lo") long lo, @Param("hi") long hi, @Param("quietCutoff") LocalDateTime quietCutoff);
+
+    /**
+     * Deletes the rows of users in [lo, hi] that no longer have any orders.
+     * @return number of users deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM user_revenue_rollups r WHERE r.user_id BETWEEN :lo AND :hi "
+            + "AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.user_id = r.user_id)",
+            nativeQuery = true)
+    int deleteUsersWithoutOrders(@Param("lo") long lo, @Param("hi") long hi);
+}
@@ -0,0 +1,287 @@
+// src/main/java/com/app/service/OrderPipeline.java
+package com.app.service;
+
+import com.app.model.Order;
+import com.app.model.OrderRequest;
+import com.app.model.OrderTicket;
+import com.app.model.RewardsResponse;
+import com.app.repository.OrderTicketRepository;
+import com.app.tracing.Span;
+import com.app.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous order placement pipeline.
+ * <p>
+ * Accepted orders are enqueued in a bounded in-process queue and a ticket is returned
+ * immediately. Worker threads drain the queue in batches and run three stages per batch:
+ * <ol>
+ *   <li>reward evaluation against Talon.One, one call per order;</li>
+ *   <li>a single transactional insert of all orders in the batch, retried per order if it fails;</li>
+ *   <li>one atomic stats increment per distinct user in the batch.</li>
+ * </ol>
+ * This decouples the accept rate of {@code POST /orders/async} from Talon.One and
+ * database latency.
+ * </p>
+ * <p>
+ * Tickets live in the {@code order_tickets} table, so any instance can answer a poll. The queue
+ * itself is in memory: if the JVM dies, its pending tickets are failed by the abandoned-ticket sweep
+ * that every instance runs. A ticket is completed in the same transaction that inserts its order,
+ * and that transaction rolls back if the ticket was already failed, so a FAILED ticket never has
+ * an order and clients can safely resubmit it.
+ * </p>
+ */
+@Service
+public class OrderPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPipeline.class);
+
+    private final OrderService orderService;
+    private final RewardsService rewardsService;
+    private final UserService userService;
+    private final OrderTicketRepository ticketRepository;
+    private final Tracer tracer;
+
+    private final BlockingQueue<PendingOrder> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final int batchSize;
+    private final int workerCount;
+    private final long ticketRetentionMinutes;
+    private final long ticketTimeoutMinutes;
+    private volatile boolean running = true;
+    private volatile long lastSweepNanos = System.nanoTime();
+
+    public OrderPipeline(OrderService orderService,
+                         RewardsService rewardsService,
+                         UserService userService,
+                         OrderTicketRepository ticketRepository,
+                         Tracer tracer,
+                         @Value("${orders.async.queue-capacity:10000}") int queueCapacity,
+                         @Value("${orders.async.batch-size:50}") int batchSize,
+                         @Value("${orders.async.workers:4}") int workerCount,
+                         @Value("${orders.async.ticket-retention-minutes:30}") long ticketRetentionMinutes,
+                         @Value("${orders.async.ticket-timeout-minutes:5}") long ticketTimeoutMinutes) {
+        this.orderService = orderService;
+        this.rewardsService = rewardsService;
+        this.userService = userService;
+        this.ticketRepository = ticketRepository;
+        this.tracer = tracer;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.workerCount = workerCount;
+        this.ticketRetentionMinutes = ticketRetentionMinutes;
+        this.ticketTimeoutMinutes = ticketTimeoutMinutes;
+    }
+
+    @PostConstruct
+    void startWorkers() {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workLoop, "order-pipeline-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Validates, records and enqueues an order without blocking on its processing.
+     * @param orderRequest The order request.
+     * @return The QUEUED ticket, or null if the queue is full.
+     * @throws IllegalArgumentException if the request is invalid, its currency is unsupported or the user does not exist.
+     */
+    public OrderTicket submit(OrderRequest orderRequest) {
+        if (orderRequest.getUserId() == null || orderRequest.getCart() == null) {
+            throw new IllegalArgumentException("Order must have a userId and a cart.");
+        }
+        orderService.resolveCurrency(orderRequest);
+        if (userService.getUserById(orderRequest.getUserId()) == null) {
+            throw new IllegalArgumentException("User not found for order placement.");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        OrderTicket ticket = ticketRepository.save(OrderTicket.builder()
+                .ticketId(UUID.randomUUID().toString())
+                .userId(orderRequest.getUserId())
+                .status(OrderTicket.Status.QUEUED)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        if (!queue.offer(new PendingOrder(ticket.getTicketId(), orderRequest))) {
+            ticketRepository.deleteById(ticket.getTicketId());
+            return null;
+        }
+        return ticket;
+    }
+
+    /**
+     * Looks up the current state of a ticket.
+     * @param ticketId The ticket ID.
+     * @return The ticket, or null if unknown or expired.
+     */
+    public OrderTicket getTicket(String ticketId) {
+        return ticketRepository.findById(ticketId).orElse(null);
+    }
+
+    /**
+     * @return number of orders currently waiting in the queue
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void workLoop() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                sweepTickets();
+                PendingOrder first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.error("Order pipeline batch failed unexpectedly: {}", ex.getMessage(), ex);
+                batch.forEach(pending -> fail(pending, ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void processBatch(List<PendingOrder> batch) {
+        try (Span span = tracer.startSpan("OrderPipeline.processBatch")) {
+            span.tag("batch.size", batch.size());
+
+            // Stage 1: evaluate rewards; a failure only fails that order
+            List<PendingOrder> evaluated = new ArrayList<>(batch.size());
+            List<String> ticketIds = new ArrayList<>(batch.size());
+            List<OrderRequest> requests = new ArrayList<>(batch.size());
+            List<RewardsResponse> rewards = new ArrayList<>(batch.size());
+            for (PendingOrder pending : batch) {
+                if (ticketRepository.claim(pending.ticketId(), LocalDateTime.now()) == 0) {
+                    // Already failed by the abandoned-ticket sweep; the client has been told to retry
+                    logger.warn("Async order {} is no longer queued, skipping", pending.ticketId());
+                    continue;
+                }
+                try {
+                    rewards.add(rewardsService.evaluateRewards(pending.request().getCart()));
+                    ticketIds.add(pending.ticketId());
+                    requests.add(pending.request());
+                    evaluated.add(pending);
+                } catch (RuntimeException ex) {
+                    fail(pending, ex);
+                }
+            }
+            if (evaluated.isEmpty()) {
+                return;
+            }
+
+            // Stage 2: insert all orders of the batch and complete their tickets in one transaction;
+            // failures are isolated per order
+            List<OrderService.SaveResult> results;
+            try {
+                results = orderService.saveOrders(ticketIds, requests, rewards);
+            } catch (RuntimeException ex) {
+                span.recordError(ex);
+                evaluated.forEach(pending -> fail(pending, ex));
+                return;
+            }
+
+            List<Order> savedOrders = new ArrayList<>(results.size());
+            for (OrderService.SaveResult result : results) {
+                if (result.order() != null) {
+                    savedOrders.add(result.order());
+                }
+            }
+
+            // Stage 3: one stats increment per distinct user
+            try {
+                userService.updateUserStatsAfterOrders(savedOrders);
+            } catch (RuntimeException ex) {
+                // Orders are already persisted, so the tickets still complete; only the stats are stale
+                span.recordError(ex);
+                logger.error("Failed to update user stats for {} orders: {}", savedOrders.size(), ex.getMessage());
+            }
+
+            // COMPLETED was written with the order; only failures and follow-up errors remain
+            for (int i = 0; i < evaluated.size(); i++) {
+                OrderService.SaveResult result = results.get(i);
+                String ticketId = evaluated.get(i).ticketId();
+                if (result.order() == null) {
+                    logger.warn("Async order {} failed: {}", ticketId, result.error());
+                    ticketRepository.fail(ticketId, result.error(), LocalDateTime.now());
+                } else if (result.error() != null) {
+                    ticketRepository.annotate(ticketId, result.error(), LocalDateTime.now());
+                }
+            }
+        }
+    }
+
+    private void fail(PendingOrder pending, RuntimeException ex) {
+        logger.warn("Async order {} failed: {}", pending.ticketId(), ex.getMessage());
+        try {
+            // No-op if the ticket already completed, so a committed order is never reported as failed
+            ticketRepository.fail(pending.ticketId(), ex.getMessage(), LocalDateTime.now());
+        } catch (RuntimeException updateEx) {
+            logger.error("Failed to mark async order {} as failed: {}", pending.ticketId(), updateEx.getMessage());
+        }
+    }
+
+    /**
+     * Once a minute, fails tickets left pending by a dead instance and deletes finished tickets past retention.
+     * Every instance sweeps; the conditional updates make concurrent sweeps harmless.
+     */
+    private void sweepTickets() {
+        long nowNanos = System.nanoTime();
+        if (nowNanos - lastSweepNanos < TimeUnit.MINUTES.toNanos(1)) {
+            return;
+        }
+        lastSweepNanos = nowNanos;
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int abandoned = ticketRepository.failAbandoned(now.minusMinutes(ticketTimeoutMinutes),
+                    "Order was not processed in time; please retry.", now);
+            if (abandoned > 0) {
+                logger.warn("Failed {} abandoned async order tickets", abandoned);
+            }
+            ticketRepository.deleteFinishedBefore(now.minusMinutes(ticketRetentionMinutes));
+        } catch (RuntimeException ex) {
+            logger.error("Async order ticket sweep failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Stops accepting new batches and lets workers drain what is already queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Order pipeline stopped with {} orders still queued; their tickets will time out", queue.size());
+        }
+    }
+
+    private record PendingOrder(String ticketId, OrderRequest request) {
+    }
+}
@@ -1,13 +1,27 @@
 // src/main/java/com/app/service/OrderService.java
 package com.app.service;
 
+import com.app.model.Money;
 import com.app.model.Order;
 import com.app.model.OrderRequest;
 import com.app.model.CartRequest;
 import com.app.model.RewardsResponse;
+import com.app.model.User;
 import com.app.repository.OrderRepository;
+import com.app.repository.OrderTicketRepository;
+import com.app.tracing.Tracer;
 lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service layer for order processing and business logic.
@@ -16,45 +30,48 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+
     private final UserService userService;
     private final RewardsService rewardsService;
     private final OrderRepository orderRepository;
+    private final OrderTicketRepository ticketRepository;
+    private final RollupService rollupService;
+    private final Tracer tracer;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.money.currency:" + Money.DEFAULT_CURRENCY + "}")
+    private String settlementCurrency;
 
     /**
      * Saves a new order after evaluating rewards and applying discounts.
+     * Loyalty is confirmed only once the order is committed, so a Talon.One call never holds a transaction open.
      * @param orderRequest The order request data.
      * @param rewards The evaluated rewards to apply.
      * @return The saved Order object.
      */
     public Order saveOrder(OrderRequest orderRequest, RewardsResponse rewards) {
-        // Retrieve user and cart details
-        var user = userService.getUserById(orderRequest.getUserId());
-        if (user == null) {
-            throw new IllegalArgumentException("User not found for order placement.");
-        }
+        return tracer.inSpan("OrderService.saveOrder", () -> {
+            // Retrieve user and cart details
+            var user = userService.getUserById(orderRequest.getUserId());
+            if (user == null) {
+                throw new IllegalArgumentException("User not found for order placement.");
+            }
 
-        // Calculate total with discount
-        double originalTotal = orderRequest.getCart().getTotalAmount();
-        double discount = rewards != null ? rewards.getDiscountAmount() : 0.0;
-        double finalTotal = originalTotal - discount;
+            // Create Order entity with discount applied
+            Order order = buildOrder(user, orderRequest, rewards);
 
-        // Create Order entity
-        Order order = new Order();
-        order.setUserId(user.getId());
-        order.setItems(orderRequest.getCart().getItems());
-        order.setTotalAmount(finalTotal);
-        order.setDiscountApplied(discount);
-        order.setRewardDetails(rewards);
-
-        // Save order
-        Order savedOrder = orderRepository.save(order);
+            // Save order
+            Order savedOrder = orderRepository.save(order);
+            rollupService.recordOrder(savedOrder, rewards);
 
-        // Confirm loyalty point usage if applicable
-        if (rewards != null && rewards.isLoyaltyUsed()) {
-            rewardsService.confirmLoyalty(user.getId().toString(), finalTotal);
-        }
+            // Confirm loyalty point usage if applicable
+            if (rewards != null && rewards.isLoyaltyUsed()) {
+                rewardsService.confirmLoyalty(user.getId().toString(), savedOrder.getTotalAmount());
+            }
 
-        return savedOrder;
+            return savedOrder;
+        });
     }
 
     /**
@@ -63,26 +80,186 @@ public class OrderService {
      * @return The saved Order object.
      */
     public Order placeOrder(OrderRequest req) {
-        // Retrieve user
-        var user = userService.getUserById(req.getUserId());
-        if (user == null) {
-            throw new IllegalArgumentException("User not found for order placement.");
+        return tracer.inSpan("OrderService.placeOrder", () -> {
+            // Retrieve user
+            var user = userService.getUserById(req.getUserId());
+            if (user == null) {
+                throw new IllegalArgumentException("User not found for order placement.");
+            }
+
+            // Evaluate rewards/discounts
+            RewardsResponse rewards = rewardsService.evaluateRewards(req.getCart());
+
+            // Save order with applied rewards
+            Order savedOrder = saveOrder(req, rewards);
+
+            // Update user statistics
+            userService.updateUserStatsAfterOrder(req.getUserId(), savedOrder);
+
+            return savedOrder;
+        });
+    }
+
+    /**
+     * Saves a batch of orders with a single saveAll in one transaction, then confirms loyalty usage for those
+     * that used it once the batch is committed. Used by the asynchronous order pipeline.
+     * <p>
+     * Failures are isolated per order: a request whose user does not exist is skipped, and if the batch insert
+     * fails the orders are retried one transaction each, so one bad order does not fail the whole batch.
+     * </p>
+     * <p>
+     * Each order's ticket is completed in the transaction that inserts it. If the ticket is no longer pending
+     * (it was failed as abandoned) the insert rolls back, so a ticket the client saw fail never gains an order.
+     * </p>
+     * @param ticketIds The pipeline ticket of each request, index-aligned with orderRequests.
+     * @param orderRequests The order requests.
+     * @param rewards The evaluated rewards, index-aligned with orderRequests.
+     * @return The outcome of each request, index-aligned with orderRequests.
+     */
+    public List<SaveResult> saveOrders(List<String> ticketIds, List<OrderRequest> orderRequests, List<RewardsResponse> rewards) {
+        return tracer.inSpan("OrderService.saveOrders", () -> {
+            Map<Long, User> users = userService.getUsersByIds(
+                    orderRequests.stream().map(OrderRequest::getUserId).distinct().toList());
+
+            SaveResult[] results = new SaveResult[orderRequests.size()];
+            List<Integer> indexes = new ArrayList<>(orderRequests.size());
+            List<String> orderTicketIds = new ArrayList<>(orderRequests.size());
+            List<Order> orders = new ArrayList<>(orderRequests.size());
+            List<RewardsResponse> orderRewards = new ArrayList<>(orderRequests.size());
+            for (int i = 0; i < orderRequests.size(); i++) {
+                OrderRequest orderRequest = orderRequests.get(i);
+                User user = users.get(orderRequest.getUserId());
+                if (user == null) {
+                    results[i] = SaveResult.failed("User not found for order placement.");
+                    continue;
+                }
+                Order order;
+                try {
+                    order = buildOrder(user, orderRequest, rewards.get(i));
+                } catch (IllegalArgumentException | ArithmeticException ex) {
+                    results[i] = SaveResult.failed(ex.getMessage());
+                    continue;
+                }
+                indexes.add(i);
+                orderTicketIds.add(ticketIds.get(i));
+                orders.add(order);
+                orderRewards.add(rewards.get(i));
+            }
+
+            if (!orders.isEmpty()) {
+                try {
+                    List<Order> savedOrders = transactionTemplate.execute(status -> {
+                        List<Order> saved = orderRepository.saveAll(orders);
+                        for (int k = 0; k < saved.size(); k++) {
+                            completeTicket(orderTicketIds.get(k), saved.get(k));
+                        }
+                        rollupService.recordOrders(saved, orderRewards);
+                        return saved;
+                    });
+                    for (int k = 0; k < indexes.size(); k++) {
+                        results[indexes.get(k)] = SaveResult.saved(savedOrders.get(k));
+                    }
+                } catch (RuntimeException ex) {
+                    logger.warn("Batch insert of {} orders failed, retrying one by one: {}", orders.size(), ex.getMessage());
+                    for (int k = 0; k < indexes.size(); k++) {
+                        results[indexes.get(k)] = saveSingle(orderTicketIds.get(k), orders.get(k), orderRewards.get(k));
+                    }
+                }
+            }
+
+            // Confirm loyalty point usage outside the transaction, one order at a time
+            for (int i = 0; i < results.length; i++) {
+                RewardsResponse reward = rewards.get(i);
+                Order savedOrder = results[i].order();
+                if (savedOrder != null && reward != null && reward.isLoyaltyUsed()) {
+                    try {
+                        rewardsService.confirmLoyalty(orderRequests.get(i).getUserId().toString(), savedOrder.getTotalAmount());
+                    } catch (RuntimeException ex) {
+                        logger.error("Loyalty confirmation failed for order {}: {}", savedOrder.getId(), ex.getMessage());
+                        results[i] = new SaveResult(savedOrder, "Loyalty confirmation failed: " + ex.getMessage());
+                    }
+                }
+            }
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * Saves one order of a failed batch in its own transaction.
+     */
+    private SaveResult saveSingle(String ticketId, Order order, RewardsResponse rewards) {
+        // IDs generated by the rolled-back batch insert are stale
+        order.setId(null);
+        if (order.getItems() != null) {
+            order.getItems().forEach(item -> item.setId(null));
+        }
+        try {
+            return SaveResult.saved(transactionTemplate.execute(status -> {
+                Order saved = orderRepository.save(order);
+                completeTicket(ticketId, saved);
+                rollupService.recordOrder(saved, rewards);
+                return saved;
+            }));
+        } catch (RuntimeException ex) {
+            return SaveResult.failed(ex.getMessage());
+        }
+    }
+
+    /**
+     * Marks a ticket COMPLETED within the current transaction, rolling it back if the ticket is no longer pending.
+     */
+    private void completeTicket(String ticketId, Order savedOrder) {
+        if (ticketRepository.complete(ticketId, savedOrder.getId(), LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Ticket " + ticketId + " is no longer pending.");
+        }
+    }
+
+    /**
+     * Validates the currency of an order request against the settlement currency.
+     * @param orderRequest The order request.
+     * @return The currency code the order will be stored in.
+     * @throws IllegalArgumentException if the request has no cart or an unsupported currency.
+     */
+    public String resolveCurrency(OrderRequest orderRequest) {
+        if (orderRequest.getCart() == null) {
+            throw new IllegalArgumentException("Order must have a cart.");
         }
+        return Money.validateCurrency(orderRequest.getCart().getCurrency(), settlementCurrency);
+    }
 
-        // Evaluate rewards/discounts
-        RewardsResponse rewards = rewardsService.evaluateRewards(req.getCart());
+    /**
+     * Builds an unsaved Order entity for a request, applying the evaluated discount.
+     */
+    private Order buildOrder(User user, OrderRequest orderRequest, RewardsResponse rewards) {
+        // Calculate total with discount, exactly in minor units
+        long originalTotal = orderRequest.getCart().getTotalAmount();
+        long discount = rewards != null ? rewards.getDiscountAmount() : 0L;
+        long finalTotal = Money.subtract(originalTotal, discount);
+        String currency = resolveCurrency(orderRequest);
 
-        // Save order with applied rewards
-        Order savedOrder = saveOrder(req, rewards);
+        Order order = new Order();
+        order.setUser(user);
+        order.setItems(orderRequest.getCart().getItems());
+        order.setTotalAmount(finalTotal);
+        order.setDiscountApplied(discount);
+        order.setCurrency(currency);
+        order.setRewardDetails(rewards);
+        order.setCreatedAt(LocalDateTime.now());
+        return order;
+    }
 
-        // Update user statistics
-        userService.updateUserStatsAfterOrder(req.getUserId(), savedOrder);
+    /**
+     * Outcome of one order of a batch: the saved order, an error, or both when the order was saved
+     * but a follow-up step such as loyalty confirmation failed.
+     */
+    public record SaveResult(Order order, String error) {
 
-        // Confirm loyalty point usage if applicable
-        if (rewards != null && rewards.isLoyaltyUsed()) {
-            rewardsService.confirmLoyalty(user.getId().toString(), savedOrder.getTotalAmount());
+        static SaveResult saved(Order order) {
+            return new SaveResult(order, null);
         }
 
-        return savedOrder;
+        static SaveResult failed(String error) {
+            return new SaveResult(null, error);
+        }
     }
 }
@@ -1,9 +1,11 @@
 // src/main/java/com/app/service/RewardsService.java
 package com.app.service;
 
+import com.app.cache.ClusterNearCacheManager;
 import com.app.model.CartRequest;
 import com.app.model.RewardsResponse;
 import com.app.talonone.TalonOneClient;
+import com.app.tracing.Tracer;
 lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +17,8 @@ import org.springframework.stereotype.Service;
 public class RewardsService {
 
     private final TalonOneClient talonOneClient;
+    private final Tracer tracer;
+    private final ClusterNearCacheManager nearCache;
 
     /**
      * Evaluates rewards and discounts for a given cart by interacting with Talon.One.
@@ -22,21 +26,42 @@ public class RewardsService {
      * @return The evaluated RewardsResponse.
      */
     public RewardsResponse evaluateRewards(CartRequest cartRequest) {
-        // Update user profile in Talon.One
-        talonOneClient.updateProfile(cartRequest.getUserId(), cartRequest.getProfileDTO());
+        return tracer.inSpan("RewardsService.evaluateRewards", () -> {
+            // Update user profile in Talon.One
+            String userId = String.valueOf(cartRequest.getUserId());
+            talonOneClient.updateProfile(userId, cartRequest.getProfileDTO());
 
-        // Evaluate the cart/session in Talon.One
-        RewardsResponse response = talonOneClient.evaluateSession(cartRequest.getUserId(), cartRequest.getSessionDTO());
+            // Evaluate the cart/session in Talon.One
+            RewardsResponse response = talonOneClient.evaluateSession(userId, cartRequest.getSessionDTO());
 
+            return response;
+        });
+    }
+
+    /**
+     * Previews rewards for a cart without placing an order. Identical carts are served from
+     * the cluster near cache until the user's data changes or the entry expires.
+     * @param cartRequest The cart request containing items and user info.
+     * @return The evaluated RewardsResponse.
+     */
+    public RewardsResponse previewRewards(CartRequest cartRequest) {
+        RewardsResponse cached = nearCache.rewardPreviews().get(cartRequest);
+        if (cached != null) {
+            return cached;
+        }
+        String group = String.valueOf(cartRequest.getUserId());
+        long generation = nearCache.rewardPreviews().generation(group);
+        RewardsResponse response = evaluateRewards(cartRequest);
+        nearCache.rewardPreviews().putIfGeneration(cartRequest, group, response, generation);
         return response;
     }
 
     /**
      * Confirms loyalty point usage for a user and order total via Talon.One.
      * @param userId The ID of the user.
-     * @param total The total amount for which loyalty is being confirmed.
+     * @param total The total amount, in minor units (cents), for which loyalty is being confirmed.
      */
-    public void confirmLoyalty(String userId, double total) {
-        talonOneClient.confirmLoyalty(userId, total);
+    public void confirmLoyalty(String userId, long total) {
+        tracer.runInSpan("RewardsService.confirmLoyalty", () -> talonOneClient.confirmLoyalty(userId, total));
     }
 }
@@ -0,0 +1,209 @@
+// src/main/java/com/app/service/RollupRebuildService.java
+package com.app.service;
+
+import com.app.repository.CampaignRollupRepository;
+import com.app.repository.DailyRevenueRollupRepository;
+import com.app.repository.UserRevenueRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds the reporting rollups from the orders table, for backfills and for repairing deltas
+ * that {@link RollupService} failed to apply.
+ * <p>
+ * Every step is one set-based {@code INSERT ... SELECT ... GROUP BY ... ON CONFLICT DO UPDATE}
+ * that replaces the stored totals with the aggregated ones, followed by a delete of rows that no
+ * longer have orders, so rerunning a rebuild is harmless. Loyalty and campaign totals are read
+ * from the {@code RewardsResponse} JSON stored in {@code orders.reward_details}.
+ * </p>
+ * <p>
+ * Safety against concurrent traffic:
+ * <ul>
+ *   <li>daily rows are only rebuilt for days before today, which no longer receive deltas;</li>
+ *   <li>user rows are rebuilt per user ID range in short transactions that lock the table against
+ *       concurrent upserts, and users with an order newer than {@code app.rollups.rebuild.quiet-minutes}
+ *       are skipped, because their delta may not have been applied yet;</li>
+ *   <li>campaign rows are rebuilt in one transaction holding the same lock, which delays rollup deltas
+ *       for the duration of a scan of the orders table, so run it off-peak.</li>
+ * </ul>
+ * </p>
+ */
+@Service
+public class RollupRebuildService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupRebuildService.class);
+
+    private final DailyRevenueRollupRepository dailyRollupRepository;
+    private final UserRevenueRollupRepository userRollupRepository;
+    private final CampaignRollupRepository campaignRollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.rollups.rebuild.chunk-size:10000}")
+    private long chunkSize;
+
+    @Value("${app.rollups.rebuild.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${app.rollups.rebuild.quiet-minutes:10}")
+    private long quietMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger daysRebuilt = new AtomicInteger();
+    private final AtomicInteger userChunksDone = new AtomicInteger();
+    private final AtomicInteger userChunksTotal = new AtomicInteger();
+    private final AtomicLong usersRebuilt = new AtomicLong();
+    private final AtomicInteger campaignsRebuilt = new AtomicInteger();
+    private volatile LocalDate lastFrom;
+    private volatile LocalDate lastTo;
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+    private volatile String lastError;
+
+    public RollupRebuildService(DailyRevenueRollupRepository dailyRollupRepository,
+                                UserRevenueRollupRepository userRollupRepository,
+                                CampaignRollupRepository campaignRollupRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.userRollupRepository = userRollupRepository;
+        this.campaignRollupRepository = campaignRollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts a rebuild on a background thread: the daily rows of [from, to], then all user and campaign rows.
+     * @param from The first day to rebuild.
+     * @param to The last day to rebuild; must be before today.
+     * @return false if a rebuild is already in progress on this instance
+     * @throws IllegalArgumentException if the range is empty or includes today
+     */
+    public boolean start(LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || !to.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Rebuild range must be non-empty and end before today.");
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        lastFrom = from;
+        lastTo = to;
+        Thread runner = new Thread(() -> {
+            try {
+                run(from, to);
+            } finally {
+                running.set(false);
+            }
+        }, "rollup-rebuild");
+        runner.setDaemon(true);
+        runner.start();
+        return true;
+    }
+
+    /**
+     * @return progress of the current or most recent rebuild on this instance
+     */
+    public Status getStatus() {
+        return new Status(running.get(), lastFrom, lastTo, daysRebuilt.get(), userChunksDone.get(),
+                userChunksTotal.get(), usersRebuilt.get(), campaignsRebuilt.get(),
+                lastStartedAt, lastFinishedAt, lastError);
+    }
+
+    private void run(LocalDate from, LocalDate to) {
+        lastStartedAt = LocalDateTime.now();
+        lastFinishedAt = null;
+        lastError = null;
+        daysRebuilt.set(0);
+        userChunksDone.set(0);
+        userChunksTotal.set(0);
+        usersRebuilt.set(0);
+        campaignsRebuilt.set(0);
+        try {
+            rebuildDays(from, to);
+            rebuildUsers();
+            rebuildCampaigns();
+            logger.info("[Rollups] Rebuild finished: {} days, {} users, {} campaigns",
+                    daysRebuilt.get(), usersRebuilt.get(), campaignsRebuilt.get());
+        } catch (RuntimeException ex) {
+            lastError = ex.getMessage();
+            logger.error("[Rollups] Rebuild failed: {}", ex.getMessage(), ex);
+        } finally {
+            lastFinishedAt = LocalDateTime.now();
+        }
+    }
+
+    private void rebuildDays(LocalDate from, LocalDate to) {
+        Integer days = transactionTemplate.execute(status -> {
+            int written = dailyRollupRepository.rebuild(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+            dailyRollupRepository.deleteDaysWithoutOrders(from, to);
+            return written;
+        });
+        daysRebuilt.set(days != null ? days : 0);
+        logger.info("[Rollups] Rebuilt {} daily rows for {}..{}", daysRebuilt.get(), from, to);
+    }
+
+    private void rebuildUsers() {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        if (minId == null || maxId == null) {
+            return;
+        }
+        userChunksTotal.set((int) ((maxId - minId) / chunkSize + 1));
+        LocalDateTime quietCutoff = LocalDateTime.now().minusMinutes(quietMinutes);
+        for (long lo = minId; lo <= maxId; lo += chunkSize) {
+            long hi = Math.min(lo + chunkSize - 1, maxId);
+            Integer users = transactionTemplate.execute(status -> {
+                userRollupRepository.lockForRebuild();
+                int written = userRollupRepository.rebuild(lo, hi, quietCutoff);
+                userRollupRepository.deleteUsersWithoutOrders(lo, hi);
+                return written;
+            });
+            usersRebuilt.addAndGet(users != null ? users : 0);
+            userChunksDone.incrementAndGet();
+            pause();
+        }
+        logger.info("[Rollups] Rebuilt {} user rows in {} chunks", usersRebuilt.get(), userChunksDone.get());
+    }
+
+    private void rebuildCampaigns() {
+        Integer campaigns = transactionTemplate.execute(status -> {
+            campaignRollupRepository.lockForRebuild();
+            int written = campaignRollupRepository.rebuild();
+            campaignRollupRepository.deleteCampaignsWithoutOrders();
+            return written;
+        });
+        campaignsRebuilt.set(campaigns != null ? campaigns : 0);
+        logger.info("[Rollups] Rebuilt {} campaign rows", campaignsRebuilt.get());
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(pauseMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Snapshot of rebuild progress.
+     */
+    public record Status(boolean running, LocalDate from, LocalDate to, int daysRebuilt, int userChunksDone,
+                         int userChunksTotal, long usersRebuilt, int campaignsRebuilt,
+                         LocalDateTime lastStartedAt, LocalDateTime lastFinishedAt, String lastError) {
+    }
+}
@@ -0,0 +1,173 @@
+// src/main/java/com/app/service/RollupService.java
+package com.app.service;
+
+import com.app.model.CampaignRollup;
+import com.app.model.DailyRevenueRollup;
+import com.app.model.Money;
+import com.app.model.Order;
+import com.app.model.RewardsResponse;
+import com.app.model.UserRevenueRollup;
+import com.app.repository.CampaignRollupRepository;
+import com.app.repository.DailyRevenueRollupRepository;
+import com.app.repository.UserRevenueRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service layer maintaining and reading the reporting rollups.
+ * <p>
+ * Rollups are updated incrementally with atomic upserts as orders are saved, so reports
+ * never scan the orders table. Orders of a batch are pre-aggregated per rollup key and the
+ * upserts run in key order, keeping concurrent batches from deadlocking on the same rows.
+ * </p>
+ * <p>
+ * The upserts never run inside the order transaction: when called within one, the deltas are
+ * applied after it commits, in a separate short transaction. Every order of a day hits the same
+ * daily row, so holding that row lock for the duration of an order transaction would serialize
+ * all checkouts. The trade-off is that a crash between the order commit and the rollup update
+ * loses that delta; failed updates are logged with the affected days so they can be corrected
+ * with {@link RollupRebuildService}.
+ * </p>
+ */
+@Service
+public class RollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupService.class);
+
+    private final DailyRevenueRollupRepository dailyRollupRepository;
+    private final UserRevenueRollupRepository userRollupRepository;
+    private final CampaignRollupRepository campaignRollupRepository;
+    private final TransactionTemplate rollupTransaction;
+
+    public RollupService(DailyRevenueRollupRepository dailyRollupRepository,
+                         UserRevenueRollupRepository userRollupRepository,
+                         CampaignRollupRepository campaignRollupRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.userRollupRepository = userRollupRepository;
+        this.campaignRollupRepository = campaignRollupRepository;
+        this.rollupTransaction = new TransactionTemplate(transactionManager);
+        this.rollupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds a single saved order to all rollups, after the current transaction commits if there is one.
+     * @param order The saved order.
+     * @param rewards The rewards applied to the order, may be null.
+     */
+    public void recordOrder(Order order, RewardsResponse rewards) {
+        recordOrders(List.of(order), Collections.singletonList(rewards));
+    }
+
+    /**
+     * Adds a batch of saved orders to all rollups, after the current transaction commits if there is one.
+     * @param orders The saved orders.
+     * @param rewards The rewards applied, index-aligned with orders; elements may be null.
+     */
+    public void recordOrders(List<Order> orders, List<RewardsResponse> rewards) {
+        Map<LocalDate, Totals> byDay = new TreeMap<>();
+        Map<Long, Totals> byUser = new TreeMap<>();
+        Map<String, Totals> byCampaign = new TreeMap<>();
+
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            RewardsResponse reward = rewards.get(i);
+            boolean loyaltyUsed = reward != null && reward.isLoyaltyUsed();
+            LocalDate day = order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+
+            byDay.computeIfAbsent(day, d -> new Totals()).add(order, loyaltyUsed);
+            byUser.computeIfAbsent(order.getUser().getId(), u -> new Totals()).add(order, loyaltyUsed);
+            if (reward != null && reward.getAppliedCampaigns() != null) {
+                for (String campaign : reward.getAppliedCampaigns()) {
+                    byCampaign.computeIfAbsent(campaign, c -> new Totals()).add(order, loyaltyUsed);
+                }
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(byDay, byUser, byCampaign);
+                }
+            });
+        } else {
+            apply(byDay, byUser, byCampaign);
+        }
+    }
+
+    /**
+     * Runs the pre-aggregated upserts in their own transaction. Orders are already committed at this
+     * point, so a failure is logged rather than propagated to the caller.
+     */
+    private void apply(Map<LocalDate, Totals> byDay, Map<Long, Totals> byUser, Map<String, Totals> byCampaign) {
+        try {
+            rollupTransaction.executeWithoutResult(status -> {
+                byDay.forEach((day, t) -> dailyRollupRepository.upsert(day, t.orders, t.total, t.discount, t.loyaltyOrders));
+                byUser.forEach((userId, t) -> userRollupRepository.upsert(userId, t.orders, t.total, t.discount, t.loyaltyOrders));
+                byCampaign.forEach((campaign, t) -> campaignRollupRepository.upsert(campaign, t.orders, t.total, t.discount));
+            });
+        } catch (RuntimeException ex) {
+            logger.error("[Rollups] Failed to apply rollup deltas for days {} ({} users): {}",
+                    byDay.keySet(), byUser.size(), ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Fetches daily rollups for an inclusive date range.
+     * @param from The first day.
+     * @param to The last day.
+     * @return The rollups ordered by day; days without orders are absent.
+     */
+    public List<DailyRevenueRollup> getDailyRollups(LocalDate from, LocalDate to) {
+        return dailyRollupRepository.findByDayBetweenOrderByDay(from, to);
+    }
+
+    /**
+     * Fetches the rollup for one user.
+     * @param userId The ID of the user.
+     * @return The rollup, or null if the user has no orders.
+     */
+    public UserRevenueRollup getUserRollup(Long userId) {
+        return userRollupRepository.findById(userId).orElse(null);
+    }
+
+    /**
+     * Fetches all campaign rollups.
+     * @return The rollups ordered by total amount, largest first.
+     */
+    public List<CampaignRollup> getCampaignRollups() {
+        return campaignRollupRepository.findAllByOrderByTotalAmountDesc();
+    }
+
+    /**
+     * Mutable accumulator for one rollup key within a batch.
+     */
+    private static final class Totals {
+        private long orders;
+        private long total;
+        private long discount;
+        private long loyaltyOrders;
+
+        private void add(Order order, boolean loyaltyUsed) {
+            orders++;
+            total = Money.add(total, order.getTotalAmount());
+            discount = Money.add(discount, order.getDiscountApplied());
+            if (loyaltyUsed) {
+                loyaltyOrders++;
+            }
+        }
+    }
+}
@@ -1,12 +1,19 @@
 // src/main/java/com/app/service/UserService.java
 package com.app.service;
 
+import com.app.cache.ClusterNearCacheManager;
+import com.app.model.Money;
 import com.app.model.User;
 import com.app.model.Order;
 import com.app.repository.UserRepository;
 lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,17 +24,39 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ClusterNearCacheManager nearCache;
 
     /**
-     * Fetches a user by their ID.
+     * Fetches a user by their ID, served from the cluster near cache when possible.
      * @param id The ID of the user.
      * @return The User object if found, otherwise null.
      */
     public User getUserById(Long id) {
+        User cached = nearCache.users().get(id);
+        if (cached != null) {
+            return cached;
+        }
+        // Captured before the read so an invalidation racing with it keeps the row out of the cache
+        String group = id.toString();
+        long generation = nearCache.users().generation(group);
         Optional<User> userOpt = userRepository.findById(id);
+        userOpt.ifPresent(user -> nearCache.users().putIfGeneration(id, group, user, generation));
         return userOpt.orElse(null);
     }
 
+    /**
+     * Fetches several users in one query.
+     * @param ids The IDs of the users.
+     * @return The found users keyed by ID; missing IDs are absent.
+     */
+    public Map<Long, User> getUsersByIds(Collection<Long> ids) {
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(ids)) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+
     /**
      * Updates a user's totalOrders and totalSpent statistics.
      * @param id The ID of the user to update.
@@ -42,7 +71,9 @@ public class UserService {
         User user = userOpt.get();
         user.setTotalOrders(updateRequest.getTotalOrders());
         user.setTotalSpent(updateRequest.getTotalSpent());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        nearCache.invalidateUser(id);
+        return saved;
     }
 
     /**
@@ -55,8 +86,29 @@ public class UserService {
         if (userOpt.isPresent() && order != null) {
             User user = userOpt.get();
             user.setTotalOrders(user.getTotalOrders() + 1);
-            user.setTotalSpent(user.getTotalSpent() + order.getTotalAmount());
+            user.setTotalSpent(Money.add(user.getTotalSpent(), order.getTotalAmount()));
             userRepository.save(user);
+            nearCache.invalidateUser(userId);
+        }
+    }
+
+    /**
+     * Updates user statistics for a batch of placed orders, issuing one atomic
+     * increment per distinct user rather than one read-modify-write per order.
+     * @param orders The orders that were placed.
+     */
+    @Transactional
+    public void updateUserStatsAfterOrders(List<Order> orders) {
+        Map<Long, int[]> orderCounts = new HashMap<>();
+        Map<Long, Long> spent = new HashMap<>();
+        for (Order order : orders) {
+            Long userId = order.getUser().getId();
+            orderCounts.computeIfAbsent(userId, id -> new int[1])[0]++;
+            spent.merge(userId, order.getTotalAmount(), Money::add);
         }
+        orderCounts.forEach((userId, count) -> {
+            userRepository.incrementStats(userId, count[0], spent.get(userId));
+            nearCache.invalidateUser(userId);
+        });
     }
 }
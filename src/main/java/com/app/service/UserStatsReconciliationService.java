@@ -0,0 +1,379 @@
+// src/main/java/com/app/service/UserStatsReconciliationService.java
+package com.app.service;
+
+import com.app.cache.ClusterNearCacheManager;
+import com.app.model.ReconciliationCheckpoint;
+import com.app.repository.ReconciliationCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconciles {@code User.totalOrders}/{@code totalSpent} with the orders table.
+ * <p>
+ * The user ID space is split into fixed-size ranges. Each range is aggregated with one
+ * set-based query that returns only drifted users, and corrections are written with
+ * batched updates. The query relies on the {@code orders (user_id, created_at)} index
+ * declared on {@link com.app.model.Order} to read only the orders of its range. Ranges run in parallel on a small dedicated fork-join pool with a pause
+ * after each range, so the job can run during business hours without saturating the database.
+ * </p>
+ * <p>
+ * Safety against concurrent traffic:
+ * <ul>
+ *   <li>users with an order newer than {@code app.reconciliation.quiet-minutes} are skipped,
+ *       because their stats increment may not have been applied yet; the next run picks them up;</li>
+ *   <li>each correction only applies if the row still holds the values that were read
+ *       (optimistic guard), so a concurrent stats update is never overwritten.</li>
+ * </ul>
+ * Progress is checkpointed as a contiguous watermark of reconciled user IDs; an interrupted
+ * run resumes from the watermark. Reconciling a range twice is harmless.
+ * </p>
+ * <p>
+ * Only one instance in the cluster runs the job at a time: a run first claims a PostgreSQL
+ * session-level advisory lock on a dedicated connection and holds it until the run ends. If
+ * the instance dies, the database drops the connection and with it the lock, so another
+ * instance can resume from the checkpoint. The scheduled trigger fires on every instance and
+ * all but one skip the run.
+ * </p>
+ */
+@Service
+public class UserStatsReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsReconciliationService.class);
+
+    static final String JOB_NAME = "user-stats";
+
+    /**
+     * Advisory lock key claiming the job across the cluster ("usrstats" in ASCII).
+     */
+    private static final long CLUSTER_LOCK_KEY = 0x7573727374617473L;
+
+    private static final String DRIFT_QUERY =
+            "SELECT u.id, u.total_orders, u.total_spent_cents, COUNT(o.id) AS actual_orders, "
+                    + "COALESCE(SUM(o.total_amount_cents), 0) AS actual_spent "
+                    // The range is repeated on o.user_id: PostgreSQL does not derive it through the join,
+                    // and without it every chunk scans all orders instead of the (user_id, created_at) index
+                    + "FROM users u LEFT JOIN orders o ON o.user_id = u.id AND o.user_id BETWEEN ? AND ? "
+                    + "WHERE u.id BETWEEN ? AND ? "
+                    + "GROUP BY u.id, u.total_orders, u.total_spent_cents "
+                    + "HAVING (MAX(o.created_at) IS NULL OR MAX(o.created_at) < ?) "
+                    + "AND (u.total_orders <> COUNT(o.id) OR u.total_spent_cents <> COALESCE(SUM(o.total_amount_cents), 0))";
+
+    private static final String CORRECTION_UPDATE =
+            "UPDATE users SET total_orders = ?, total_spent_cents = ? "
+                    + "WHERE id = ? AND total_orders = ? AND total_spent_cents = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReconciliationCheckpointRepository checkpointRepository;
+    private final ClusterNearCacheManager nearCache;
+
+    @Value("${app.reconciliation.chunk-size:10000}")
+    private long chunkSize;
+
+    @Value("${app.reconciliation.parallelism:2}")
+    private int parallelism;
+
+    @Value("${app.reconciliation.write-batch-size:500}")
+    private int writeBatchSize;
+
+    @Value("${app.reconciliation.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${app.reconciliation.quiet-minutes:10}")
+    private long quietMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger chunksTotal = new AtomicInteger();
+    private final AtomicInteger chunksDone = new AtomicInteger();
+    private final AtomicLong correctedUsers = new AtomicLong();
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+    private volatile String lastError;
+
+    public UserStatsReconciliationService(JdbcTemplate jdbcTemplate,
+                                          ReconciliationCheckpointRepository checkpointRepository,
+                                          ClusterNearCacheManager nearCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.nearCache = nearCache;
+    }
+
+    /**
+     * Starts (or resumes) a reconciliation run on a background thread.
+     * @return false if a run is already in progress on this or another instance
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Connection lockConnection = claimClusterLock();
+        if (lockConnection == null) {
+            running.set(false);
+            return false;
+        }
+        Thread runner = new Thread(() -> {
+            try {
+                run();
+            } finally {
+                releaseClusterLock(lockConnection);
+                running.set(false);
+            }
+        }, "user-stats-reconciliation");
+        runner.setDaemon(true);
+        runner.start();
+        return true;
+    }
+
+    /**
+     * Scheduled trigger; disabled unless {@code app.reconciliation.cron} is set.
+     */
+    @Scheduled(cron = "${app.reconciliation.cron:-}")
+    public void scheduledRun() {
+        if (!start()) {
+            logger.info("[Reconciliation] Skipping scheduled run, a run is already in progress in the cluster");
+        }
+    }
+
+    /**
+     * @return progress of the current or most recent run on this instance
+     */
+    public Status getStatus() {
+        ReconciliationCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        return new Status(running.get(), chunksDone.get(), chunksTotal.get(), correctedUsers.get(),
+                checkpoint != null ? checkpoint.getWatermark() : null,
+                checkpoint != null ? checkpoint.getMaxId() : null,
+                lastStartedAt, lastFinishedAt, lastError);
+    }
+
+    private void run() {
+        lastStartedAt = LocalDateTime.now();
+        lastFinishedAt = null;
+        lastError = null;
+        chunksDone.set(0);
+        correctedUsers.set(0);
+
+        ReconciliationCheckpoint checkpoint = loadOrStartCheckpoint();
+        if (checkpoint == null) {
+            lastFinishedAt = LocalDateTime.now();
+            return;
+        }
+        correctedUsers.set(checkpoint.getCorrectedUsers());
+
+        List<long[]> chunks = new ArrayList<>();
+        for (long lo = checkpoint.getWatermark() + 1; lo <= checkpoint.getMaxId(); lo += chunkSize) {
+            chunks.add(new long[]{lo, Math.min(lo + chunkSize - 1, checkpoint.getMaxId())});
+        }
+        chunksTotal.set(chunks.size());
+        logger.info("[Reconciliation] Reconciling user IDs {}..{} in {} chunks with parallelism {}",
+                checkpoint.getWatermark() + 1, checkpoint.getMaxId(), chunks.size(), parallelism);
+
+        Timestamp quietCutoff = Timestamp.valueOf(LocalDateTime.now().minusMinutes(quietMinutes));
+        WatermarkTracker tracker = new WatermarkTracker(checkpoint, chunks);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                int index = i;
+                tasks.add(pool.submit(() -> {
+                    long[] range = chunks.get(index);
+                    reconcileRange(range[0], range[1], quietCutoff);
+                    tracker.completed(index);
+                    pause();
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            tracker.finish();
+            logger.info("[Reconciliation] Finished: {} users corrected", correctedUsers.get());
+        } catch (RuntimeException ex) {
+            lastError = ex.getMessage();
+            logger.error("[Reconciliation] Run failed at watermark {}: {}", checkpoint.getWatermark(), ex.getMessage(), ex);
+        } finally {
+            pool.shutdownNow();
+            lastFinishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Resumes an unfinished checkpoint or starts a new run over the current user ID range.
+     * @return the checkpoint to work from, or null if there are no users
+     */
+    private ReconciliationCheckpoint loadOrStartCheckpoint() {
+        ReconciliationCheckpoint existing = checkpointRepository.findById(JOB_NAME).orElse(null);
+        if (existing != null && !existing.isCompleted()) {
+            logger.info("[Reconciliation] Resuming from watermark {}", existing.getWatermark());
+            return existing;
+        }
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        if (minId == null || maxId == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return checkpointRepository.save(ReconciliationCheckpoint.builder()
+                .jobName(JOB_NAME)
+                .watermark(minId - 1)
+                .maxId(maxId)
+                .correctedUsers(0)
+                .completed(false)
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private void reconcileRange(long lo, long hi, Timestamp quietCutoff) {
+        List<Object[]> corrections = jdbcTemplate.query(DRIFT_QUERY,
+                (rs, rowNum) -> new Object[]{
+                        rs.getInt("actual_orders"),
+                        rs.getLong("actual_spent"),
+                        rs.getLong("id"),
+                        rs.getInt("total_orders"),
+                        rs.getLong("total_spent_cents")
+                },
+                lo, hi, lo, hi, quietCutoff);
+
+        for (int from = 0; from < corrections.size(); from += writeBatchSize) {
+            List<Object[]> batch = corrections.subList(from, Math.min(from + writeBatchSize, corrections.size()));
+            int[] updated = jdbcTemplate.batchUpdate(CORRECTION_UPDATE, batch);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] > 0) {
+                    correctedUsers.incrementAndGet();
+                    nearCache.invalidateUser((Long) batch.get(i)[2]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims the job for this instance with a session-level advisory lock.
+     * @return the connection holding the lock, or null if another instance holds it
+     */
+    private Connection claimClusterLock() {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, CLUSTER_LOCK_KEY);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        return connection;
+                    }
+                }
+            }
+            logger.info("[Reconciliation] Another instance holds the job lock");
+        } catch (SQLException ex) {
+            lastError = ex.getMessage();
+            logger.error("[Reconciliation] Could not claim the job lock: {}", ex.getMessage(), ex);
+        }
+        closeQuietly(connection);
+        return null;
+    }
+
+    private void releaseClusterLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, CLUSTER_LOCK_KEY);
+            statement.execute();
+            connection.close();
+        } catch (SQLException ex) {
+            // Never hand a connection that may still hold the lock back to the pool
+            logger.warn("[Reconciliation] Failed to release the job lock, discarding connection: {}", ex.getMessage());
+            try {
+                connection.abort(Runnable::run);
+            } catch (SQLException ignored) {
+                // the connection is unusable either way
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // returned to the pool best-effort
+        }
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(pauseMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Advances the checkpoint watermark over the longest prefix of completed chunks.
+     */
+    private final class WatermarkTracker {
+
+        private final ReconciliationCheckpoint checkpoint;
+        private final List<long[]> chunks;
+        private final boolean[] done;
+        private int next;
+
+        private WatermarkTracker(ReconciliationCheckpoint checkpoint, List<long[]> chunks) {
+            this.checkpoint = checkpoint;
+            this.chunks = chunks;
+            this.done = new boolean[chunks.size()];
+        }
+
+        private synchronized void completed(int index) {
+            chunksDone.incrementAndGet();
+            done[index] = true;
+            if (index != next) {
+                return;
+            }
+            while (next < done.length && done[next]) {
+                next++;
+            }
+            save(chunks.get(next - 1)[1], false);
+        }
+
+        private synchronized void finish() {
+            save(checkpoint.getMaxId(), true);
+        }
+
+        private void save(long watermark, boolean completed) {
+            checkpoint.setWatermark(watermark);
+            checkpoint.setCorrectedUsers(correctedUsers.get());
+            checkpoint.setCompleted(completed);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        }
+    }
+
+    /**
+     * Snapshot of reconciliation progress.
+     */
+    public record Status(boolean running, int chunksDone, int chunksTotal, long correctedUsers, Long watermark,
+                         Long maxId, LocalDateTime lastStartedAt, LocalDateTime lastFinishedAt, String lastError) {
+    }
+}
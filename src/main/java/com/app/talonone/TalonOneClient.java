@@ -2,16 +2,15 @@ package com.app.talonone;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.net.URLEncoder;
 
+import com.app.model.Money;
 import com.app.model.dto.ProfileDTO;
 import com.app.model.dto.SessionDTO;
 import com.app.model.dto.RewardsResponse;
@@ -23,10 +22,17 @@ import com.app.model.dto.RewardsResponse;
  * and confirm loyalty transactions. Configuration is loaded from application.properties.
  * </p>
  * <p>
+ * Every call is routed through {@link TalonOneShardRouter} by the user ID (the customer's
+ * integration ID), so all calls of a checkout reach the shard that owns the customer's profile
+ * and traffic can be spread over several Talon.One applications. Each call's outcome feeds the
+ * shard's health tracking: transport errors, 5xx and 429 responses count as shard failures,
+ * other 4xx responses are the caller's fault and do not.
+ * </p>
+ * <p>
  * Example usage:
  * <pre>
  *     talonOneClient.updateProfile(userId, profileDTO);
- *     RewardsResponse rewards = talonOneClient.evaluateSession(sessionDTO);
+ *     RewardsResponse rewards = talonOneClient.evaluateSession(userId, sessionDTO);
  *     talonOneClient.confirmLoyalty(userId, totalAmount);
  * </pre>
  * </p>
@@ -36,20 +42,14 @@ public class TalonOneClient {
 
     private static final Logger logger = LoggerFactory.getLogger(TalonOneClient.class);
 
-    @Value("${talonone.base-url}")
-    private String baseUrl;
-
-    @Value("${talonone.api-key}")
-    private String apiKey;
-
-    private final RestTemplate restTemplate;
+    private final TalonOneShardRouter shardRouter;
 
     /**
-     * Constructs the TalonOneClient with a provided RestTemplate.
-     * @param restTemplate the RestTemplate to use for HTTP communication
+     * Constructs the TalonOneClient with a provided shard router.
+     * @param shardRouter the router selecting the Talon.One application for each call
      */
-    public TalonOneClient(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public TalonOneClient(TalonOneShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
     }
 
     /**
@@ -60,21 +60,26 @@ public class TalonOneClient {
      * @throws TalonOneClientException if the request fails
      */
     public void updateProfile(String userId, ProfileDTO dto) {
-        String url = String.format("%s/v1/profiles/%s", trimBaseUrl(), encode(userId));
-        HttpHeaders headers = createHeaders();
+        TalonOneShard shard = shardRouter.route(userId);
+        String url = String.format("%s/v1/profiles/%s", shard.getBaseUrl(), encode(userId));
+        HttpHeaders headers = createHeaders(shard);
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<ProfileDTO> request = new HttpEntity<>(dto, headers);
 
+        long start = System.nanoTime();
         try {
-            ResponseEntity<Void> response = restTemplate.exchange(url, HttpMethod.PUT, request, Void.class);
+            ResponseEntity<Void> response = shard.getRestTemplate().exchange(url, HttpMethod.PUT, request, Void.class);
+            recordOutcome(shard, start, response.getStatusCode());
             if (!response.getStatusCode().is2xxSuccessful()) {
                 logger.error("Failed to update profile for userId {}: HTTP {}", userId, response.getStatusCode());
                 throw new TalonOneClientException("Failed to update profile: " + response.getStatusCode());
             }
         } catch (HttpStatusCodeException ex) {
+            recordOutcome(shard, start, ex.getStatusCode());
             logger.error("Talon.One profile update failed for userId {}: {} - {}", userId, ex.getStatusCode(), ex.getResponseBodyAsString());
             throw new TalonOneClientException("Talon.One profile update failed: " + ex.getResponseBodyAsString(), ex);
         } catch (RestClientException ex) {
+            shard.recordFailure(System.nanoTime() - start);
             logger.error("Talon.One profile update failed for userId {}: {}", userId, ex.getMessage());
             throw new TalonOneClientException("Talon.One profile update failed: " + ex.getMessage(), ex);
         }
@@ -83,18 +88,22 @@ public class TalonOneClient {
     /**
      * Evaluates a session in Talon.One to determine rewards/discounts.
      *
+     * @param userId the user ID owning the session, used for routing
      * @param dto the session data
      * @return the evaluated rewards response
      * @throws TalonOneClientException if the request fails
      */
-    public RewardsResponse evaluateSession(SessionDTO dto) {
-        String url = String.format("%s/v1/sessions", trimBaseUrl());
-        HttpHeaders headers = createHeaders();
+    public RewardsResponse evaluateSession(String userId, SessionDTO dto) {
+        TalonOneShard shard = shardRouter.route(userId);
+        String url = String.format("%s/v1/sessions", shard.getBaseUrl());
+        HttpHeaders headers = createHeaders(shard);
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<SessionDTO> request = new HttpEntity<>(dto, headers);
 
+        long start = System.nanoTime();
         try {
-            ResponseEntity<RewardsResponse> response = restTemplate.exchange(url, HttpMethod.POST, request, RewardsResponse.class);
+            ResponseEntity<RewardsResponse> response = shard.getRestTemplate().exchange(url, HttpMethod.POST, request, RewardsResponse.class);
+            recordOutcome(shard, start, response.getStatusCode());
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 return response.getBody();
             } else {
@@ -102,9 +111,11 @@ public class TalonOneClient {
                 throw new TalonOneClientException("Failed to evaluate session: " + response.getStatusCode());
             }
         } catch (HttpStatusCodeException ex) {
+            recordOutcome(shard, start, ex.getStatusCode());
             logger.error("Talon.One session evaluation failed: {} - {}", ex.getStatusCode(), ex.getResponseBodyAsString());
             throw new TalonOneClientException("Talon.One session evaluation failed: " + ex.getResponseBodyAsString(), ex);
         } catch (RestClientException ex) {
+            shard.recordFailure(System.nanoTime() - start);
             logger.error("Talon.One session evaluation failed: {}", ex.getMessage());
             throw new TalonOneClientException("Talon.One session evaluation failed: " + ex.getMessage(), ex);
         }
@@ -114,26 +125,31 @@ public class TalonOneClient {
      * Confirms a loyalty transaction for a user in Talon.One.
      *
      * @param userId the user ID
-     * @param totalAmount the total amount for the loyalty transaction
+     * @param totalAmount the total amount for the loyalty transaction, in minor units (cents)
      * @throws TalonOneClientException if the request fails
      */
-    public void confirmLoyalty(String userId, double totalAmount) {
-        String url = String.format("%s/v1/loyalty/%s/confirm", trimBaseUrl(), encode(userId));
-        HttpHeaders headers = createHeaders();
+    public void confirmLoyalty(String userId, long totalAmount) {
+        TalonOneShard shard = shardRouter.route(userId);
+        String url = String.format("%s/v1/loyalty/%s/confirm", shard.getBaseUrl(), encode(userId));
+        HttpHeaders headers = createHeaders(shard);
         headers.setContentType(MediaType.APPLICATION_JSON);
-        String body = String.format("{\"totalAmount\": %.2f}", totalAmount);
+        String body = "{\"totalAmount\": " + Money.format(totalAmount) + "}";
         HttpEntity<String> request = new HttpEntity<>(body, headers);
 
+        long start = System.nanoTime();
         try {
-            ResponseEntity<Void> response = restTemplate.exchange(url, HttpMethod.POST, request, Void.class);
+            ResponseEntity<Void> response = shard.getRestTemplate().exchange(url, HttpMethod.POST, request, Void.class);
+            recordOutcome(shard, start, response.getStatusCode());
             if (!response.getStatusCode().is2xxSuccessful()) {
                 logger.error("Failed to confirm loyalty for userId {}: HTTP {}", userId, response.getStatusCode());
                 throw new TalonOneClientException("Failed to confirm loyalty: " + response.getStatusCode());
             }
         } catch (HttpStatusCodeException ex) {
+            recordOutcome(shard, start, ex.getStatusCode());
             logger.error("Talon.One loyalty confirmation failed for userId {}: {} - {}", userId, ex.getStatusCode(), ex.getResponseBodyAsString());
             throw new TalonOneClientException("Talon.One loyalty confirmation failed: " + ex.getResponseBodyAsString(), ex);
         } catch (RestClientException ex) {
+            shard.recordFailure(System.nanoTime() - start);
             logger.error("Talon.One loyalty confirmation failed for userId {}: {}", userId, ex.getMessage());
             throw new TalonOneClientException("Talon.One loyalty confirmation failed: " + ex.getMessage(), ex);
         }
@@ -142,22 +158,32 @@ public class TalonOneClient {
     /**
      * Creates HTTP headers with Authorization for Talon.One API requests.
      *
+     * @param shard the shard whose API key to use
      * @return HttpHeaders with Bearer token and Accept: application/json
      */
-    private HttpHeaders createHeaders() {
+    private HttpHeaders createHeaders(TalonOneShard shard) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(apiKey);
+        headers.setBearerAuth(shard.getApiKey());
         headers.setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
         headers.setAcceptCharset(java.util.Collections.singletonList(StandardCharsets.UTF_8));
         return headers;
     }
 
     /**
-     * Trims the trailing slash from the base URL if present.
-     * @return the trimmed base URL
+     * Feeds a call's HTTP status into the shard's health tracking.
+     * Only 5xx and 429 count as shard failures; other statuses mean the shard answered properly.
+     *
+     * @param shard the shard that was called
+     * @param startNanos System.nanoTime() at the start of the call
+     * @param status the response status
      */
-    private String trimBaseUrl() {
-        return baseUrl != null && baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    private void recordOutcome(TalonOneShard shard, long startNanos, HttpStatusCode status) {
+        long latency = System.nanoTime() - startNanos;
+        if (status.is5xxServerError() || status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            shard.recordFailure(latency);
+        } else {
+            shard.recordSuccess(latency);
+        }
     }
 
     /**
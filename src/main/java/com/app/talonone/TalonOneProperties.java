@@ -0,0 +1,67 @@
+package com.app.talonone;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Talon.One connection settings bound from {@code talonone.*} properties.
+ * <p>
+ * Either configure a single application with {@code talonone.base-url} and
+ * {@code talonone.api-key}, or several applications (shards) with
+ * {@code talonone.shards[n].name/base-url/api-key}. When shards are configured the
+ * single base-url/api-key pair is ignored.
+ * </p>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "talonone")
+public class TalonOneProperties {
+
+    private String baseUrl;
+    private String apiKey;
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Points placed on the hash ring per shard; more points give a more even spread.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Consecutive failures after which a shard is considered unhealthy.
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * How long an unhealthy shard is skipped before it is tried again.
+     */
+    private long unhealthyCooldownMs = 30_000;
+
+    /**
+     * Size of each shard's HTTP connection pool; shards never share connections.
+     */
+    private int maxConnections = 50;
+
+    /**
+     * TCP connect timeout, also the longest wait for a free pooled connection.
+     */
+    private long connectTimeoutMs = 2_000;
+
+    /**
+     * Socket read (response) timeout.
+     */
+    private long readTimeoutMs = 5_000;
+
+    /**
+     * One Talon.One application endpoint with its own credentials.
+     */
+    @Data
+    public static class Shard {
+        private String name;
+        private String baseUrl;
+        private String apiKey;
+    }
+}
@@ -0,0 +1,127 @@
+package com.app.talonone;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One Talon.One application endpoint: its base URL, credentials, dedicated
+ * RestTemplate and connection pool, health state and request metrics.
+ * <p>
+ * A shard becomes unhealthy after {@code failureThreshold} consecutive failures and calls
+ * routed to it by {@link TalonOneShardRouter} fail fast until the cooldown has elapsed. After the cooldown
+ * it receives traffic again; a single success resets it, while a single further failure
+ * (the streak is not reset) makes it unhealthy again straight away.
+ * </p>
+ */
+public class TalonOneShard implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TalonOneShard.class);
+
+    private final String name;
+    private final String baseUrl;
+    private final String apiKey;
+    private final RestTemplate restTemplate;
+    private final Closeable httpClient;
+    private final int failureThreshold;
+    private final long cooldownNanos;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long unhealthyUntilNanos;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+
+    public TalonOneShard(String name, String baseUrl, String apiKey, RestTemplate restTemplate,
+                         Closeable httpClient, int failureThreshold, long cooldownMs) {
+        this.name = name;
+        this.baseUrl = baseUrl != null && baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.apiKey = apiKey;
+        this.restTemplate = restTemplate;
+        this.httpClient = httpClient;
+        this.failureThreshold = failureThreshold;
+        this.cooldownNanos = cooldownMs * 1_000_000L;
+    }
+
+    /**
+     * @return true unless the shard is within its unhealthy cooldown window
+     */
+    public boolean isHealthy() {
+        long until = unhealthyUntilNanos;
+        return until == 0 || System.nanoTime() - until >= 0;
+    }
+
+    /**
+     * Records a successful call and resets the failure streak.
+     * @param latencyNanos the call latency
+     */
+    public void recordSuccess(long latencyNanos) {
+        requests.incrementAndGet();
+        totalLatencyNanos.addAndGet(latencyNanos);
+        consecutiveFailures.set(0);
+        unhealthyUntilNanos = 0;
+    }
+
+    /**
+     * Records a failed call, marking the shard unhealthy once the threshold is reached.
+     * @param latencyNanos the call latency
+     */
+    public void recordFailure(long latencyNanos) {
+        requests.incrementAndGet();
+        failures.incrementAndGet();
+        totalLatencyNanos.addAndGet(latencyNanos);
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            unhealthyUntilNanos = System.nanoTime() + cooldownNanos;
+        }
+    }
+
+    /**
+     * @return a point-in-time view of this shard's health and metrics
+     */
+    public Stats stats() {
+        long count = requests.get();
+        return new Stats(name, baseUrl, isHealthy(), count, failures.get(),
+                count == 0 ? 0.0 : totalLatencyNanos.get() / 1_000_000.0 / count);
+    }
+
+    /**
+     * Closes the shard's HTTP connection pool.
+     */
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException ex) {
+            logger.warn("Failed to close HTTP client of Talon.One shard {}: {}", name, ex.getMessage());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+
+    /**
+     * Snapshot of a shard's health and request metrics.
+     */
+    public record Stats(String name, String baseUrl, boolean healthy, long requests, long failures,
+                        double averageLatencyMs) {
+    }
+}
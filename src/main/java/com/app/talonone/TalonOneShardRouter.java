@@ -0,0 +1,112 @@
+package com.app.talonone;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Routes Talon.One calls to a shard by a consistent hash of the customer's
+ * {@code integrationId}.
+ * <p>
+ * Each shard is placed on a hash ring at {@code virtualNodes} points. An integration ID
+ * maps to the first point at or after its hash, so the same customer always lands on the
+ * same application, and adding or removing a shard only moves about 1/n of customers.
+ * </p>
+ * <p>
+ * A customer's profile, sessions and loyalty ledger only exist on its owning shard, so calls
+ * never fail over to another shard: while the owning shard is unhealthy, routing fails fast
+ * with a {@link TalonOneClient.TalonOneClientException} instead of reading or writing state on
+ * an application that does not have it.
+ * </p>
+ */
+public class TalonOneShardRouter implements AutoCloseable {
+
+    private final List<TalonOneShard> shards;
+    private final NavigableMap<Long, TalonOneShard> ring = new TreeMap<>();
+
+    /**
+     * Builds the hash ring.
+     * @param shards the configured shards, at least one
+     * @param virtualNodes ring points per shard
+     */
+    public TalonOneShardRouter(List<TalonOneShard> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one Talon.One shard must be configured.");
+        }
+        this.shards = List.copyOf(shards);
+        for (TalonOneShard shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard.getName() + "#" + i), shard);
+            }
+        }
+    }
+
+    /**
+     * Picks the shard owning an integration ID.
+     * @param integrationId the customer integration ID (our userId); null routes to the first shard
+     * @return the shard to call
+     * @throws TalonOneClient.TalonOneClientException if the owning shard is unhealthy
+     */
+    public TalonOneShard route(String integrationId) {
+        TalonOneShard owner;
+        if (shards.size() == 1 || integrationId == null) {
+            owner = shards.get(0);
+        } else {
+            Map.Entry<Long, TalonOneShard> entry = ring.ceilingEntry(hash(integrationId));
+            owner = (entry != null ? entry : ring.firstEntry()).getValue();
+        }
+        if (!owner.isHealthy()) {
+            throw new TalonOneClient.TalonOneClientException(
+                    "Talon.One shard " + owner.getName() + " is unhealthy, failing fast");
+        }
+        return owner;
+    }
+
+    /**
+     * @return all configured shards, in configuration order
+     */
+    public List<TalonOneShard> getShards() {
+        return shards;
+    }
+
+    /**
+     * @return health and metrics snapshots for all shards
+     */
+    public List<TalonOneShard.Stats> stats() {
+        List<TalonOneShard.Stats> stats = new ArrayList<>(shards.size());
+        for (TalonOneShard shard : shards) {
+            stats.add(shard.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * Closes the connection pools of all shards.
+     */
+    @Override
+    public void close() {
+        for (TalonOneShard shard : shards) {
+            shard.close();
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a followed by a murmur-style finalizer for good avalanche on short keys.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
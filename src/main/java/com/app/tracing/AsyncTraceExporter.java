@@ -0,0 +1,104 @@
+package com.app.tracing;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands finished traces from request threads to a single background thread that
+ * calls the configured {@link SpanExporter}.
+ * <p>
+ * The queue is bounded; when it is full new traces are dropped (and counted) rather
+ * than blocking the request path.
+ * </p>
+ */
+@Component
+public class AsyncTraceExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTraceExporter.class);
+
+    private static final int MAX_BATCH = 128;
+
+    private final SpanExporter delegate;
+    private final BlockingQueue<Trace> queue;
+    private final AtomicLong droppedTraces = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs the exporter and starts its worker thread.
+     * @param delegate the exporter that receives sampled traces
+     * @param capacity maximum number of traces waiting for export
+     */
+    public AsyncTraceExporter(SpanExporter delegate,
+                              @Value("${tracing.export.queue-capacity:2048}") int capacity) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drainLoop, "trace-exporter");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Enqueues a trace for export without blocking.
+     * @param trace the finished trace
+     */
+    public void submit(Trace trace) {
+        if (!queue.offer(trace)) {
+            droppedTraces.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return number of traces dropped because the export queue was full
+     */
+    public long getDroppedTraces() {
+        return droppedTraces.get();
+    }
+
+    private void drainLoop() {
+        List<Trace> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Trace first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (Trace trace : batch) {
+                    delegate.export(trace);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.warn("Trace export failed: {}", ex.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting work and flushes whatever is still queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        long dropped = droppedTraces.get();
+        if (dropped > 0) {
+            logger.warn("Trace exporter dropped {} traces due to a full queue", dropped);
+        }
+    }
+}
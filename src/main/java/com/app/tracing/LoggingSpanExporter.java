@@ -0,0 +1,41 @@
+package com.app.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link SpanExporter} that writes sampled traces to a dedicated logger
+ * ({@code com.app.tracing.spans}), one line per span.
+ * <p>
+ * Route that logger to its own appender, or replace this bean with an OTLP exporter,
+ * to ship traces to a collector.
+ * </p>
+ */
+@Component
+public class LoggingSpanExporter implements SpanExporter {
+
+    private static final Logger spanLogger = LoggerFactory.getLogger("com.app.tracing.spans");
+
+    @Override
+    public void export(Trace trace) {
+        if (!spanLogger.isInfoEnabled()) {
+            return;
+        }
+        synchronized (trace.getSpans()) {
+            for (Span span : trace.getSpans()) {
+                spanLogger.info("trace={} span={} parent={} name=\"{}\" durationMs={} error={} tags={}",
+                        span.getTraceId(),
+                        span.getSpanId(),
+                        span.getParentSpanId(),
+                        span.getName(),
+                        span.getDurationNanos() / 1_000_000.0,
+                        span.getError() != null ? span.getError().getClass().getSimpleName() : null,
+                        span.getTags());
+            }
+        }
+        if (trace.getDroppedSpans() > 0) {
+            spanLogger.info("trace={} droppedSpans={}", trace.getTraceId(), trace.getDroppedSpans());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.app.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single timed operation within a trace (e.g. an inbound request, a service call,
+ * a repository call or an outbound Talon.One request).
+ * <p>
+ * Spans are created through {@link Tracer} and must be closed on the thread that
+ * opened them, ideally with try-with-resources:
+ * <pre>
+ *     try (Span span = tracer.startSpan("OrderService.saveOrder")) {
+ *         span.tag("userId", userId);
+ *         ...
+ *     }
+ * </pre>
+ * </p>
+ */
+public final class Span implements AutoCloseable {
+
+    /**
+     * Shared span handed out while tracing is disabled; every operation is a no-op.
+     */
+    static final Span NOOP = new Span(null, null, null, "noop", "0000000000000000");
+
+    private final Tracer tracer;
+    private final Trace trace;
+    private final Span parent;
+    private final String name;
+    private final String spanId;
+    private final long startNanos;
+    private long durationNanos = -1;
+    private Throwable error;
+    private Map<String, String> tags;
+
+    Span(Tracer tracer, Trace trace, Span parent, String name, String spanId) {
+        this.tracer = tracer;
+        this.trace = trace;
+        this.parent = parent;
+        this.name = name;
+        this.spanId = spanId;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Attaches a key/value attribute to this span.
+     *
+     * @param key the attribute name
+     * @param value the attribute value
+     * @return this span, for chaining
+     */
+    public Span tag(String key, Object value) {
+        if (this != NOOP) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>(4);
+            }
+            tags.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    /**
+     * Marks this span (and therefore its trace) as failed so tail sampling keeps it.
+     *
+     * @param ex the failure
+     */
+    public void recordError(Throwable ex) {
+        if (this != NOOP) {
+            this.error = ex;
+            trace.markError();
+        }
+    }
+
+    /**
+     * Ends the span and restores its parent as the current span.
+     */
+    @Override
+    public void close() {
+        if (this == NOOP || durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        tracer.onSpanEnd(this);
+    }
+
+    /**
+     * Renders this span as a W3C {@code traceparent} header value for propagation.
+     *
+     * @return the header value, or null for the no-op span
+     */
+    public String traceparent() {
+        if (this == NOOP) {
+            return null;
+        }
+        return "00-" + trace.getTraceId() + "-" + spanId + (trace.isSampled() ? "-01" : "-00");
+    }
+
+    Trace getTrace() {
+        return trace;
+    }
+
+    Span getParent() {
+        return parent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parent != null ? parent.spanId : null;
+    }
+
+    public String getTraceId() {
+        return trace != null ? trace.getTraceId() : null;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public Map<String, String> getTags() {
+        return tags != null ? tags : Map.of();
+    }
+}
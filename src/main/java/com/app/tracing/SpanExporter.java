@@ -0,0 +1,18 @@
+package com.app.tracing;
+
+/**
+ * Destination for completed, sampled traces.
+ * <p>
+ * Implementations are always invoked from the {@link AsyncTraceExporter} worker thread,
+ * never on the request path, so they may block on I/O.
+ * </p>
+ */
+public interface SpanExporter {
+
+    /**
+     * Exports all spans of a finished trace.
+     *
+     * @param trace the trace to export
+     */
+    void export(Trace trace);
+}
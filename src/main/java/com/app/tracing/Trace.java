@@ -0,0 +1,64 @@
+package com.app.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the finished spans of one trace until its root span ends and the
+ * sampling decision can be made.
+ * <p>
+ * The span list is capped so a runaway loop cannot grow a trace without bound;
+ * spans beyond the cap are counted but not kept.
+ * </p>
+ */
+public final class Trace {
+
+    static final int MAX_SPANS = 256;
+
+    private final String traceId;
+    private final boolean sampled;
+    private final List<Span> spans = Collections.synchronizedList(new ArrayList<>(8));
+    private volatile boolean error;
+    private volatile int droppedSpans;
+
+    Trace(String traceId, boolean sampled) {
+        this.traceId = traceId;
+        this.sampled = sampled;
+    }
+
+    void add(Span span) {
+        if (spans.size() < MAX_SPANS) {
+            spans.add(span);
+        } else {
+            droppedSpans++;
+        }
+    }
+
+    void markError() {
+        this.error = true;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * @return true if the head-based sampler (or an upstream caller) chose to keep this trace
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public boolean hasError() {
+        return error;
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    public List<Span> getSpans() {
+        return spans;
+    }
+}
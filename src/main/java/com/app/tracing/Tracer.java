@@ -0,0 +1,166 @@
+package com.app.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight, in-process tracer used across controllers, services, repositories
+ * and the Talon.One client.
+ * <p>
+ * Sampling happens in two steps:
+ * <ul>
+ *   <li><b>Head-based:</b> when a trace starts, it is kept with probability
+ *       {@code tracing.sample-ratio} (or according to an upstream {@code traceparent}).</li>
+ *   <li><b>Tail-based:</b> when the root span ends, unsampled traces are still kept if the
+ *       root took longer than {@code tracing.slow-threshold-ms} or any span recorded an error.</li>
+ * </ul>
+ * Kept traces are handed to {@link AsyncTraceExporter}; nothing is exported on the request thread.
+ * </p>
+ */
+@Component
+public class Tracer {
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    private final AsyncTraceExporter exporter;
+    private final boolean enabled;
+    private final double sampleRatio;
+    private final long slowThresholdNanos;
+
+    /**
+     * Constructs the tracer.
+     * @param exporter async exporter receiving kept traces
+     * @param enabled whether tracing is enabled at all
+     * @param sampleRatio head-based sampling probability between 0.0 and 1.0
+     * @param slowThresholdMs root span duration above which a trace is always kept
+     */
+    public Tracer(AsyncTraceExporter exporter,
+                  @Value("${tracing.enabled:true}") boolean enabled,
+                  @Value("${tracing.sample-ratio:0.01}") double sampleRatio,
+                  @Value("${tracing.slow-threshold-ms:500}") long slowThresholdMs) {
+        this.exporter = exporter;
+        this.enabled = enabled;
+        this.sampleRatio = sampleRatio;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    /**
+     * Starts a span as a child of the current span, or as the root of a new trace.
+     *
+     * @param name the span name
+     * @return the started span; close it to end it
+     */
+    public Span startSpan(String name) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        Span parent = current.get();
+        Trace trace = parent != null
+                ? parent.getTrace()
+                : new Trace(newTraceId(), ThreadLocalRandom.current().nextDouble() < sampleRatio);
+        return activate(new Span(this, trace, parent, name, newSpanId()));
+    }
+
+    /**
+     * Starts a root span continuing a trace propagated by an upstream caller via a
+     * W3C {@code traceparent} header. Falls back to {@link #startSpan(String)} when the
+     * header is absent or malformed.
+     *
+     * @param name the span name
+     * @param traceparent the incoming header value, may be null
+     * @return the started span
+     */
+    public Span startSpan(String name, String traceparent) {
+        if (!enabled || current.get() != null || traceparent == null) {
+            return startSpan(name);
+        }
+        String[] parts = traceparent.split("-");
+        if (parts.length != 4 || parts[1].length() != 32 || parts[2].length() != 16) {
+            return startSpan(name);
+        }
+        boolean sampled = parts[3].endsWith("1");
+        return activate(new Span(this, new Trace(parts[1], sampled), null, name, newSpanId()));
+    }
+
+    /**
+     * Runs the given body inside a new span, recording any thrown exception on it.
+     *
+     * @param name the span name
+     * @param body the work to trace
+     * @return the body's result
+     */
+    public <T> T inSpan(String name, Supplier<T> body) {
+        try (Span span = startSpan(name)) {
+            try {
+                return body.get();
+            } catch (RuntimeException ex) {
+                span.recordError(ex);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Runs the given body inside a new span, recording any thrown exception on it.
+     *
+     * @param name the span name
+     * @param body the work to trace
+     */
+    public void runInSpan(String name, Runnable body) {
+        inSpan(name, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return the span active on this thread, or the no-op span if none
+     */
+    public Span currentSpan() {
+        Span span = current.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    private Span activate(Span span) {
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Called by {@link Span#close()}; records the span and, for root spans, makes the
+     * tail-sampling decision.
+     */
+    void onSpanEnd(Span span) {
+        Span parent = span.getParent();
+        if (parent != null) {
+            current.set(parent);
+        } else {
+            current.remove();
+        }
+
+        Trace trace = span.getTrace();
+        trace.add(span);
+        if (parent == null
+                && (trace.isSampled() || trace.hasError() || span.getDurationNanos() >= slowThresholdNanos)) {
+            exporter.submit(trace);
+        }
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return toHex(random.nextLong()) + toHex(random.nextLong());
+    }
+
+    private static String newSpanId() {
+        return toHex(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static String toHex(long value) {
+        String hex = Long.toHexString(value);
+        return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.tracing;
+
+import com.app.limiter.ConcurrencyLimitFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens the root span for every inbound HTTP request so that controller, service,
+ * repository and Talon.One spans share one trace per checkout.
+ * <p>
+ * An incoming W3C {@code traceparent} header is honoured, and the trace id is echoed
+ * back in the {@code traceparent} response header for correlation.
+ * </p>
+ * <p>
+ * A {@code 503} with {@code Retry-After} is deliberate load shedding, not a failure, so it is
+ * not recorded as an error; otherwise every shed request would be force-kept by tail sampling
+ * exactly when the exporter is busiest. Requests shed by the concurrency limiter are tagged
+ * {@code limiter.rejected}.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private static final String TRACEPARENT = "traceparent";
+
+    private final Tracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        try (Span span = tracer.startSpan("HTTP " + request.getMethod() + " " + request.getRequestURI(),
+                request.getHeader(TRACEPARENT))) {
+            String traceparent = span.traceparent();
+            if (traceparent != null) {
+                response.setHeader(TRACEPARENT, traceparent);
+            }
+            try {
+                chain.doFilter(request, response);
+            } catch (IOException | ServletException | RuntimeException ex) {
+                span.recordError(ex);
+                throw ex;
+            }
+            span.tag("http.status", response.getStatus());
+            if (request.getAttribute(ConcurrencyLimitFilter.REJECTED_ATTRIBUTE) != null) {
+                span.tag(ConcurrencyLimitFilter.REJECTED_ATTRIBUTE, true);
+            }
+            if (response.getStatus() >= 500 && !isShed(response)) {
+                span.recordError(new IllegalStateException("HTTP " + response.getStatus()));
+            }
+        }
+    }
+
+    private static boolean isShed(HttpServletResponse response) {
+        return response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                && response.containsHeader(HttpHeaders.RETRY_AFTER);
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.tracing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps every Spring Data repository bean in a thin proxy that records one span per
+ * repository call (e.g. {@code UserRepository.findById}), so JPA time shows up in
+ * traces without touching each call site.
+ */
+@Component
+public class TracingRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    public TracingRepositoryPostProcessor(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof Repository<?, ?>)) {
+            return bean;
+        }
+        Class<?>[] interfaces = ClassUtils.getAllInterfaces(bean);
+        String repositoryName = findRepositoryName(interfaces, beanName);
+        InvocationHandler handler = new TracingHandler(bean, repositoryName, tracerProvider);
+        return Proxy.newProxyInstance(bean.getClass().getClassLoader(), interfaces, handler);
+    }
+
+    private static String findRepositoryName(Class<?>[] interfaces, String fallback) {
+        for (Class<?> type : interfaces) {
+            if (type.getName().startsWith("com.app.")) {
+                return type.getSimpleName();
+            }
+        }
+        return fallback;
+    }
+
+    private static final class TracingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String repositoryName;
+        private final ObjectProvider<Tracer> tracerProvider;
+
+        private TracingHandler(Object target, String repositoryName, ObjectProvider<Tracer> tracerProvider) {
+            this.target = target;
+            this.repositoryName = repositoryName;
+            this.tracerProvider = tracerProvider;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeTarget(method, args);
+            }
+            try (Span span = tracerProvider.getObject().startSpan(repositoryName + "." + method.getName())) {
+                try {
+                    return invokeTarget(method, args);
+                } catch (Throwable ex) {
+                    span.recordError(ex);
+                    throw ex;
+                }
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
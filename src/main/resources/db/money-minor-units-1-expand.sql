@@ -0,0 +1,72 @@
+-- Money in minor units, step 1 of 2 (expand): run once, BEFORE rolling out the release that
+-- stores amounts as bigint cents, e.g.
+--   psql -v ON_ERROR_STOP=1 -f money-minor-units-1-expand.sql
+--
+-- Adds the *_cents columns next to the old double precision columns and backfills them. The old
+-- columns stay, made nullable, and a trigger keeps each pair in sync in both directions, so pods of
+-- the previous release (writing the double column) and of the new release (writing cents) can run
+-- side by side during the rolling deploy. Step 2 (money-minor-units-2-contract.sql) drops the old
+-- columns and the triggers in a later release, once no old pod is left.
+--
+-- Idempotent, and serialized by an advisory lock so concurrent runs cannot interleave.
+DO $$
+DECLARE
+    t RECORD;
+    m RECORD;
+    body text;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('money-minor-units'));
+
+    CREATE TEMP TABLE money_columns (table_name text, old_column text, new_column text) ON COMMIT DROP;
+    INSERT INTO money_columns VALUES
+        ('orders', 'total_amount', 'total_amount_cents'),
+        ('orders', 'discount_applied', 'discount_applied_cents'),
+        ('users', 'total_spent', 'total_spent_cents'),
+        ('items', 'price', 'price_cents'),
+        ('daily_revenue_rollups', 'total_amount', 'total_amount_cents'),
+        ('daily_revenue_rollups', 'discount_applied', 'discount_applied_cents'),
+        ('user_revenue_rollups', 'total_amount', 'total_amount_cents'),
+        ('user_revenue_rollups', 'discount_applied', 'discount_applied_cents'),
+        ('campaign_rollups', 'total_amount', 'total_amount_cents'),
+        ('campaign_rollups', 'discount_applied', 'discount_applied_cents');
+
+    -- Only pairs whose old column exists; fresh databases are created by Hibernate with cents only
+    DELETE FROM money_columns c
+    WHERE NOT EXISTS (SELECT 1 FROM information_schema.columns
+                      WHERE table_schema = current_schema()
+                        AND table_name = c.table_name
+                        AND column_name = c.old_column);
+
+    FOR m IN SELECT * FROM money_columns LOOP
+        EXECUTE format('ALTER TABLE %I ADD COLUMN IF NOT EXISTS %I bigint NOT NULL DEFAULT 0',
+                m.table_name, m.new_column);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP NOT NULL', m.table_name, m.old_column);
+        EXECUTE format('UPDATE %I SET %I = ROUND(%I::numeric * 100) WHERE %I IS NOT NULL',
+                m.table_name, m.new_column, m.old_column, m.old_column);
+    END LOOP;
+
+    -- One sync trigger per table covering all of its money columns
+    FOR t IN SELECT DISTINCT table_name FROM money_columns LOOP
+        body := '';
+        FOR m IN SELECT * FROM money_columns WHERE table_name = t.table_name LOOP
+            body := body || format($fmt$
+                IF TG_OP = 'INSERT' THEN
+                    IF NEW.%1$I IS NOT NULL AND NEW.%2$I = 0 THEN
+                        NEW.%2$I := ROUND(NEW.%1$I::numeric * 100);
+                    ELSIF NEW.%1$I IS NULL THEN
+                        NEW.%1$I := NEW.%2$I / 100.0;
+                    END IF;
+                ELSIF NEW.%2$I IS DISTINCT FROM OLD.%2$I THEN
+                    NEW.%1$I := NEW.%2$I / 100.0;
+                ELSIF NEW.%1$I IS DISTINCT FROM OLD.%1$I THEN
+                    NEW.%2$I := ROUND(NEW.%1$I::numeric * 100);
+                END IF;$fmt$, m.old_column, m.new_column);
+        END LOOP;
+        EXECUTE format('CREATE OR REPLACE FUNCTION %I() RETURNS trigger LANGUAGE plpgsql AS $fn$ BEGIN %s RETURN NEW; END $fn$',
+                t.table_name || '_money_sync', body);
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', t.table_name || '_money_sync', t.table_name);
+        EXECUTE format('CREATE TRIGGER %I BEFORE INSERT OR UPDATE ON %I FOR EACH ROW EXECUTE FUNCTION %I()',
+                t.table_name || '_money_sync', t.table_name, t.table_name || '_money_sync');
+    END LOOP;
+END
+$$;
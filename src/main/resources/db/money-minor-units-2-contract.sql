@@ -0,0 +1,33 @@
+-- Money in minor units, step 2 of 2 (contract): run once, in a LATER release, after every pod of the
+-- release that still wrote the double precision columns is gone, e.g.
+--   psql -v ON_ERROR_STOP=1 -f money-minor-units-2-contract.sql
+--
+-- Drops the sync triggers installed by money-minor-units-1-expand.sql and the old columns.
+-- Idempotent, and serialized by the same advisory lock as the expand step.
+DO $$
+DECLARE
+    m RECORD;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('money-minor-units'));
+
+    FOR m IN SELECT * FROM (VALUES
+            ('orders', 'total_amount'),
+            ('orders', 'discount_applied'),
+            ('users', 'total_spent'),
+            ('items', 'price'),
+            ('daily_revenue_rollups', 'total_amount'),
+            ('daily_revenue_rollups', 'discount_applied'),
+            ('user_revenue_rollups', 'total_amount'),
+            ('user_revenue_rollups', 'discount_applied'),
+            ('campaign_rollups', 'total_amount'),
+            ('campaign_rollups', 'discount_applied')
+        ) AS c (table_name, old_column)
+    LOOP
+        IF to_regclass(quote_ident(m.table_name)) IS NOT NULL THEN
+            EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', m.table_name || '_money_sync', m.table_name);
+            EXECUTE format('ALTER TABLE %I DROP COLUMN IF EXISTS %I', m.table_name, m.old_column);
+        END IF;
+        EXECUTE format('DROP FUNCTION IF EXISTS %I()', m.table_name || '_money_sync');
+    END LOOP;
+END
+$$;
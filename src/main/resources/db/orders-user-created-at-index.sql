@@ -0,0 +1,7 @@
+-- Index on orders (user_id, created_at), required by the user stats reconciliation job
+-- (UserStatsReconciliationService): without it every chunk of the drift query scans the whole
+-- orders table. Run once, before enabling the job, outside a transaction block, e.g.
+--   psql -v ON_ERROR_STOP=1 -f orders-user-created-at-index.sql
+-- CONCURRENTLY builds the index without blocking order inserts. The name matches the @Index on
+-- Order, so Hibernate does not try to create it again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_id_created_at ON orders (user_id, created_at);
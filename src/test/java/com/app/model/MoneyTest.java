@@ -0,0 +1,68 @@
+package com.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void parsesPlainDecimals() {
+        assertEquals(1999L, Money.parse("19.99"));
+        assertEquals(-500L, Money.parse("-5"));
+        assertEquals(350L, Money.parse("3.5"));
+        assertEquals(710L, Money.parse("+7.1"));
+        assertEquals(0L, Money.parse("0"));
+    }
+
+    @Test
+    void roundsHalfUpAtTwoFractionalDigits() {
+        assertEquals(1L, Money.parse("0.005"));
+        assertEquals(0L, Money.parse("0.004"));
+        assertEquals(-13L, Money.parse("-0.125"));
+        assertEquals(1999L, Money.parse("19.990000000000002"));
+    }
+
+    @Test
+    void appliesExponentBeforeRounding() {
+        assertEquals(12345L, Money.parse("1.2345e2"));
+        assertEquals(1005L, Money.parse("1.005e1"));
+        assertEquals(10000L, Money.parse("1e2"));
+        assertEquals(1L, Money.parse("1E-2"));
+        assertEquals(1L, Money.parse("5e-3"));
+    }
+
+    @Test
+    void parsesTheFullLongRange() {
+        assertEquals(Long.MAX_VALUE, Money.parse("92233720368547758.07"));
+        assertThrows(ArithmeticException.class, () -> Money.parse("92233720368547758.08"));
+        assertThrows(ArithmeticException.class, () -> Money.parse("1e1001"));
+    }
+
+    @Test
+    void rejectsMalformedAmounts() {
+        assertThrows(NumberFormatException.class, () -> Money.parse(""));
+        assertThrows(NumberFormatException.class, () -> Money.parse("-"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1e"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1.2.3"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+    }
+
+    @Test
+    void formatsWithTwoFractionalDigits() {
+        assertEquals("19.99", Money.format(1999L));
+        assertEquals("-0.05", Money.format(-5L));
+        assertEquals("1.00", Money.format(100L));
+        assertEquals("92233720368547758.07", Money.format(Long.MAX_VALUE));
+    }
+
+    @Test
+    void acceptsOnlyTheTwoDecimalSettlementCurrency() {
+        assertEquals("USD", Money.validateCurrency(null, "USD"));
+        assertEquals("USD", Money.validateCurrency("usd", "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Money.validateCurrency("EUR", "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Money.validateCurrency("JPY", "JPY"));
+        assertThrows(IllegalArgumentException.class, () -> Money.validateCurrency("XXZ", "USD"));
+    }
+}